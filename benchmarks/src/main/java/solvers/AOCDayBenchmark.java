@@ -0,0 +1,73 @@
+package solvers;
+
+import org.openjdk.jmh.annotations.*;
+import utils.Output;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for every {@link AOCDay} solver, one benchmark per solver and phase via the {@code day} parameter.
+ * <p>
+ * The solver is constructed and its input parsed once per trial in {@link #setup()}, so reading the input and parsing
+ * it are kept out of {@link #solvePartOne()} and {@link #solvePartTwo()}, and are measured on their own by
+ * {@link #read()} and {@link #parse()}. Rendering is disabled, so that solvers do not write artifacts in every
+ * iteration. The annotations below are only defaults; forks, warmup and measurement are configured with the usual JMH
+ * options, e.g.
+ * {@code java -jar target/benchmarks.jar AOCDayBenchmark -p day=aoc2018.AOC2018Day3 -f 2 -wi 10 -i 20}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class AOCDayBenchmark {
+    // Class names relative to the solvers package.
+    @Param({
+            "aoc2018.AOC2018Day1", "aoc2018.AOC2018Day2", "aoc2018.AOC2018Day3",
+            "aoc2018.AOC2018Day4", "aoc2018.AOC2018Day5", "aoc2018.AOC2018Day6",
+            "aoc2018.AOC2018Day7", "aoc2018.AOC2018Day8", "aoc2018.AOC2018Day9",
+            "aoc2018.AOC2018Day10", "aoc2018.AOC2018Day11", "aoc2018.AOC2018Day12",
+            "aoc2018.AOC2018Day13", "aoc2018.AOC2018Day14", "aoc2018.day15.AOC2018Day15",
+            "aoc2018.day16.AOC2018Day16", "aoc2018.day17.AOC2018Day17", "aoc2018.day18.AOC2018Day18"
+    })
+    private String day;
+
+    private AOCDay<Object, ?> solver;
+    private Object parsed;
+
+    @SuppressWarnings("unchecked")
+    private static AOCDay<Object, ?> construct(String day) throws ReflectiveOperationException {
+        return (AOCDay<Object, ?>) Class.forName("solvers." + day)
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        Output.render(false);
+        this.solver = construct(day);
+        this.parsed = solver.parse(solver.input);
+    }
+
+    // Reading the input.
+    @Benchmark
+    public Object read() throws ReflectiveOperationException {
+        return construct(day);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return solver.parse(solver.input);
+    }
+
+    @Benchmark
+    public Object solvePartOne() {
+        return solver.solvePartOne(parsed);
+    }
+
+    @Benchmark
+    public Object solvePartTwo() {
+        return solver.solvePartTwo(parsed);
+    }
+}
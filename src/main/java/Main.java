@@ -1,29 +1,10 @@
-import solvers.aoc2018.day18.AOC2018Day18;
+import runner.Runner;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
 
 public class Main {
-    public static void main(String[] args) throws IOException, URISyntaxException {
-        /*
-        new AOC2018Day1().solve();
-        new AOC2018Day2().solve();
-        new AOC2018Day3().solve();
-        new AOC2018Day4().solve();
-        new AOC2018Day5().solve();
-        new AOC2018Day6().solve();
-        new AOC2018Day7().solve();
-        new AOC2018Day8().solve();
-        new AOC2018Day9().solve();
-        new AOC2018Day10().solve();
-        new AOC2018Day11().solve();
-        new AOC2018Day12().solve();
-        new AOC2018Day13().solve();
-        new AOC2018Day14().solve();
-        new AOC2018Day15().solve();
-        new AOC2018Day16().solve();
-        new AOC2018Day17().solve();
-        */
-        new AOC2018Day18().solve();
+    public static void main(String[] args) throws IOException {
+        var status = Runner.run(args);
+        if (status != Runner.OK) System.exit(status);
     }
 }
@@ -0,0 +1,41 @@
+package generators;
+
+import solvers.Stage;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A generator of synthetic inputs for one day's puzzle, in the exact format that its solver parses, for benchmarking
+ * solvers at sizes far beyond the bundled inputs.
+ * <p>
+ * Generation is deterministic: the same size and seed always produce the same input, so that runs at a given size can
+ * be compared across changes to a solver.
+ */
+public interface Generator {
+    /**
+     * Writes an input to a writer, which is neither buffered nor closed by the generator.
+     *
+     * @param size the size of the input, in the {@linkplain #unit() unit} of this generator
+     * @param seed the seed of the pseudorandom choices made by the generator
+     */
+    void generate(int size, long seed, Writer out) throws IOException;
+
+    // What the size of an input counts, e.g. "lines" or "claims".
+    String unit();
+
+    // A size small enough to be solved in milliseconds, from which scaling runs double the size.
+    default int base() {
+        return 1_000;
+    }
+
+    /**
+     * The exponent k of the growth in the time to solve a stage, as O(size^k), that a reasonable solver achieves on
+     * inputs of this generator; e.g. 1 when the work is linear in the size, or 2 for a square grid whose side is the size.
+     *
+     * @return the exponent, or NaN if the size does not affect how much work there is
+     */
+    default double expected(Stage stage) {
+        return 1;
+    }
+}
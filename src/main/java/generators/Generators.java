@@ -0,0 +1,37 @@
+package generators;
+
+import generators.aoc2018.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+// The index of every input generator, by year and day.
+public final class Generators {
+    private static final Map<Integer, Map<Integer, Generator>> GENERATORS = Map.of(2018, Map.ofEntries(
+            Map.entry(1, new AOC2018Day1Generator()),
+            Map.entry(2, new AOC2018Day2Generator()),
+            Map.entry(3, new AOC2018Day3Generator()),
+            Map.entry(4, new AOC2018Day4Generator()),
+            Map.entry(5, new AOC2018Day5Generator()),
+            Map.entry(6, new AOC2018Day6Generator()),
+            Map.entry(7, new AOC2018Day7Generator()),
+            Map.entry(8, new AOC2018Day8Generator()),
+            Map.entry(9, new AOC2018Day9Generator()),
+            Map.entry(10, new AOC2018Day10Generator()),
+            Map.entry(11, new AOC2018Day11Generator()),
+            Map.entry(12, new AOC2018Day12Generator()),
+            Map.entry(13, new AOC2018Day13Generator()),
+            Map.entry(14, new AOC2018Day14Generator()),
+            Map.entry(15, new AOC2018Day15Generator()),
+            Map.entry(16, new AOC2018Day16Generator()),
+            Map.entry(17, new AOC2018Day17Generator()),
+            Map.entry(18, new AOC2018Day18Generator())
+    ));
+
+    private Generators() {
+    }
+
+    public static Optional<Generator> of(int year, int day) {
+        return Optional.ofNullable(GENERATORS.getOrDefault(year, Map.of()).get(day));
+    }
+}
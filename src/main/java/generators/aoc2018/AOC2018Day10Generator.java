@@ -0,0 +1,37 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// Points of light, e.g. position=< 21373,  53216> velocity=<-2, -5>, that converge into a random message in a 64 x 10
+// box after 10605 seconds, the time that the solver expects of every input.
+public final class AOC2018Day10Generator implements Generator {
+    private static final int SECONDS = 10605;
+
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        for (int i = 0; i < size; i++) {
+            int x = random.nextInt(64), y = random.nextInt(10);
+            int dx, dy;
+            do {
+                dx = random.nextInt(-5, 6);
+                dy = random.nextInt(-5, 6);
+            } while (dx == 0 && dy == 0);
+            out.write("position=<%6d, %6d> velocity=<%2d, %2d>\n".formatted(x - dx * SECONDS, y - dy * SECONDS, dx, dy));
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "points";
+    }
+
+    @Override
+    public int base() {
+        return 100;
+    }
+}
@@ -0,0 +1,27 @@
+package generators.aoc2018;
+
+import generators.Generator;
+import solvers.Stage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// The serial number of a grid. The grid is always 300 x 300 cells, so the size only perturbs the serial number.
+public final class AOC2018Day11Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed ^ size);
+        out.write("%d\n".formatted(random.nextInt(1, 10_000)));
+    }
+
+    @Override
+    public String unit() {
+        return "(ignored)";
+    }
+
+    @Override
+    public double expected(Stage stage) {
+        return Double.NaN;
+    }
+}
@@ -0,0 +1,46 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// An initial state of pots followed by all 32 rules, e.g. #..#. => #. Part two extrapolates from the sum of the pots
+// after 500 generations, which needs the sum to grow by a constant amount each generation. The rules therefore copy
+// either the pot itself or the pot to its left, chosen by the seed, which leaves the row still or glides it rightwards
+// by one pot per generation, like the gliders that the bundled input settles into.
+public final class AOC2018Day12Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var pots = new char[size];
+        for (int i = 0; i < size; i++) {
+            pots[i] = random.nextBoolean() ? '#' : '.';
+        }
+        // The solver only extends the row past a plant, so the row begins and ends with one.
+        pots[0] = pots[size - 1] = '#';
+        out.write("initial state: ");
+        out.write(pots);
+        out.write("\n\n");
+        var copied = random.nextInt(1, 3); // which of the five pots of a rule the outcome copies
+        for (int rule = 0; rule < 32; rule++) {
+            var pattern = new char[5];
+            for (int i = 0; i < 5; i++) {
+                pattern[i] = (rule >> (4 - i) & 1) == 1 ? '#' : '.';
+            }
+            out.write(pattern);
+            out.write(" => %c\n".formatted(pattern[copied]));
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "pots";
+    }
+
+    @Override
+    public int base() {
+        return 100;
+    }
+}
@@ -0,0 +1,60 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Rectangular loops of track, each in a cell of its own so that no two loops touch. Every loop but one carries a pair
+// of carts heading towards each other, which are bound to collide; the remaining loop carries a single cart, which is
+// the last cart left that part two looks for.
+public final class AOC2018Day13Generator implements Generator {
+    private static final int CELL = 10;
+
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        if (size < 2) throw new IllegalArgumentException("Size (%d) is less than 2.".formatted(size));
+        var random = new SplittableRandom(seed);
+        var columns = (int) Math.ceil(Math.sqrt(size));
+        var rows = (size + columns - 1) / columns;
+        var map = new char[rows * CELL][columns * CELL];
+        for (char[] row : map) {
+            Arrays.fill(row, ' ');
+        }
+        var lone = random.nextInt(size);
+        for (int loop = 0; loop < size; loop++) {
+            int width = random.nextInt(3, CELL - 1), height = random.nextInt(2, CELL - 1);
+            var left = loop % columns * CELL + random.nextInt(CELL - width);
+            var top = loop / columns * CELL + random.nextInt(CELL - height);
+            int right = left + width, bottom = top + height;
+            for (int x = left + 1; x < right; x++) {
+                map[top][x] = map[bottom][x] = '-';
+            }
+            for (int y = top + 1; y < bottom; y++) {
+                map[y][left] = map[y][right] = '|';
+            }
+            map[top][left] = map[bottom][right] = '/';
+            map[top][right] = map[bottom][left] = '\\';
+            // Carts start on the straight top edge, the first heading right and the second heading left.
+            var first = random.nextInt(left + 1, right - (loop == lone ? 0 : 1));
+            map[top][first] = '>';
+            if (loop != lone) map[top][random.nextInt(first + 1, right)] = '<';
+        }
+        for (char[] row : map) {
+            out.write(row);
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "loops";
+    }
+
+    @Override
+    public int base() {
+        return 10;
+    }
+}
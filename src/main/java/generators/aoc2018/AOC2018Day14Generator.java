@@ -0,0 +1,22 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// The number of recipes to make, within 10% above the size. Part two searches for its digits, so its running time
+// grows with the number of digits rather than with the number itself.
+public final class AOC2018Day14Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        out.write("%d\n".formatted(size + random.nextInt(size / 10 + 1)));
+    }
+
+    @Override
+    public String unit() {
+        return "recipes";
+    }
+}
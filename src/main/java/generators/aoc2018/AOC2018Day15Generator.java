@@ -0,0 +1,80 @@
+package generators.aoc2018;
+
+import generators.Generator;
+import solvers.Stage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+// A walled cavern of about 12 squares per unit, with scattered pillars of rock, and alternating goblins (G) and elves (E)
+// placed at random. Squares that cannot be reached from the rest of the cavern are filled in with rock, so that every
+// unit can eventually reach every other unit and the battle always ends.
+public final class AOC2018Day15Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        if (size < 2) throw new IllegalArgumentException("Size (%d) is less than 2.".formatted(size));
+        var random = new SplittableRandom(seed);
+        var side = Math.max(8, (int) Math.ceil(Math.sqrt(12.0 * size)));
+        var map = new char[side][side];
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                var border = x == 0 || y == 0 || x == side - 1 || y == side - 1;
+                map[y][x] = border || random.nextInt(10) == 0 ? '#' : '.';
+            }
+        }
+        // Keep only the squares reachable from the center, which is cleared first.
+        map[side / 2][side / 2] = '.';
+        var reachable = new boolean[side][side];
+        var open = new ArrayList<int[]>();
+        var queue = new ArrayDeque<int[]>();
+        queue.add(new int[]{side / 2, side / 2});
+        reachable[side / 2][side / 2] = true;
+        while (!queue.isEmpty()) {
+            var square = queue.remove();
+            open.add(square);
+            for (int[] delta : new int[][]{{0, 1}, {1, 0}, {0, -1}, {-1, 0}}) {
+                int x = square[0] + delta[0], y = square[1] + delta[1];
+                if (map[y][x] == '.' && !reachable[y][x]) {
+                    reachable[y][x] = true;
+                    queue.add(new int[]{x, y});
+                }
+            }
+        }
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                if (!reachable[y][x]) map[y][x] = '#';
+            }
+        }
+        var units = Math.min(size, open.size());
+        for (int i = 0; i < units; i++) {
+            var j = random.nextInt(i, open.size());
+            var square = open.get(j);
+            open.set(j, open.get(i));
+            open.set(i, square);
+            map[square[1]][square[0]] = i % 2 == 0 ? 'G' : 'E';
+        }
+        for (char[] row : map) {
+            out.write(row);
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "units";
+    }
+
+    @Override
+    public int base() {
+        return 10;
+    }
+
+    // Battles last about as many rounds as the cavern is wide, and every unit searches the cavern in every round.
+    @Override
+    public double expected(Stage stage) {
+        return stage == Stage.PARSE ? 1 : 2.5;
+    }
+}
@@ -0,0 +1,122 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Samples of the registers before and after an instruction, e.g. Before: [2, 3, 2, 2], 15 3 2 2, After:  [2, 3, 4, 2],
+// then a test program of as many instructions as samples. Opcodes are assigned to operations at random, and samples
+// are added beyond the size until every opcode can be worked out by elimination, as part two does.
+public final class AOC2018Day16Generator implements Generator {
+    private static final int OPERATIONS = 16;
+
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var operations = new int[OPERATIONS]; // the operation of each opcode
+        for (int i = 0; i < OPERATIONS; i++) {
+            var j = random.nextInt(i + 1);
+            operations[i] = operations[j];
+            operations[j] = i;
+        }
+        var samples = new ArrayList<int[]>(); // each the registers before, the instruction, and the registers after
+        var candidates = new int[OPERATIONS]; // a bitmask of the operations that agree with every sample of an opcode
+        Arrays.fill(candidates, (1 << OPERATIONS) - 1);
+        var seen = new boolean[OPERATIONS];
+        for (int i = 0; i < size || !resolves(candidates, seen); i++) {
+            var sample = new int[12];
+            for (int j = 0; j < 8; j++) {
+                sample[j] = random.nextInt(4);
+            }
+            // Cover every opcode first, since part two looks up the operation of every opcode in the program.
+            var opcode = sample[4] = i < OPERATIONS ? i : random.nextInt(OPERATIONS);
+            var after = execute(operations[opcode], Arrays.copyOf(sample, 4), sample[5], sample[6], sample[7]);
+            System.arraycopy(after, 0, sample, 8, 4);
+            for (int operation = 0; operation < OPERATIONS; operation++) {
+                var result = execute(operation, Arrays.copyOf(sample, 4), sample[5], sample[6], sample[7]);
+                if (!Arrays.equals(result, after)) candidates[opcode] &= ~(1 << operation);
+            }
+            seen[opcode] = true;
+            samples.add(sample);
+        }
+        // Shuffle the samples, so that the first sixteen do not give away every opcode.
+        for (int i = samples.size() - 1; i > 0; i--) {
+            var j = random.nextInt(i + 1);
+            var sample = samples.get(i);
+            samples.set(i, samples.get(j));
+            samples.set(j, sample);
+        }
+        for (int[] sample : samples) {
+            out.write("Before: [%d, %d, %d, %d]\n".formatted(sample[0], sample[1], sample[2], sample[3]));
+            out.write("%d %d %d %d\n".formatted(sample[4], sample[5], sample[6], sample[7]));
+            out.write("After:  [%d, %d, %d, %d]\n\n".formatted(sample[8], sample[9], sample[10], sample[11]));
+        }
+        out.write("\n\n");
+        for (int i = 0; i < size; i++) {
+            out.write("%d %d %d %d\n".formatted(random.nextInt(OPERATIONS), random.nextInt(4), random.nextInt(4), random.nextInt(4)));
+        }
+    }
+
+    // Whether every opcode has been seen and its operation can be worked out by repeatedly confirming the opcodes with
+    // a single candidate operation and ruling that operation out for the other opcodes.
+    private static boolean resolves(int[] candidates, boolean[] seen) {
+        for (boolean s : seen) {
+            if (!s) return false;
+        }
+        var remaining = candidates.clone();
+        var unconfirmed = new ArrayList<>(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15));
+        while (!unconfirmed.isEmpty()) {
+            var confirmed = 0;
+            for (Integer opcode : unconfirmed) {
+                if (Integer.bitCount(remaining[opcode]) == 1) confirmed |= remaining[opcode];
+            }
+            if (confirmed == 0) return false;
+            for (int i = unconfirmed.size() - 1; i >= 0; i--) {
+                var opcode = unconfirmed.get(i);
+                if (Integer.bitCount(remaining[opcode]) == 1) unconfirmed.remove(i);
+                else remaining[opcode] &= ~confirmed;
+            }
+        }
+        return true;
+    }
+
+    // Executes an operation, in the order addr, addi, mulr, muli, banr, bani, borr, bori, setr, seti, gtir, gtri, gtrr,
+    // eqir, eqri and eqrr, on registers that it returns.
+    private static int[] execute(int operation, int[] r, int a, int b, int c) {
+        r[c] = switch (operation) {
+            case 0 -> r[a] + r[b];
+            case 1 -> r[a] + b;
+            case 2 -> r[a] * r[b];
+            case 3 -> r[a] * b;
+            case 4 -> r[a] & r[b];
+            case 5 -> r[a] & b;
+            case 6 -> r[a] | r[b];
+            case 7 -> r[a] | b;
+            case 8 -> r[a];
+            case 9 -> a;
+            case 10 -> a > r[b] ? 1 : 0;
+            case 11 -> r[a] > b ? 1 : 0;
+            case 12 -> r[a] > r[b] ? 1 : 0;
+            case 13 -> a == r[b] ? 1 : 0;
+            case 14 -> r[a] == b ? 1 : 0;
+            case 15 -> r[a] == r[b] ? 1 : 0;
+            default -> throw new IllegalArgumentException("Unknown operation: %d.".formatted(operation));
+        };
+        return r;
+    }
+
+    @Override
+    public String unit() {
+        return "samples";
+    }
+
+    @Override
+    public int base() {
+        return 100;
+    }
+}
@@ -0,0 +1,62 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+// Veins of clay, e.g. x=495, y=2..7 and y=7, x=495..501, that form basins open at the top: a wall on either side and a
+// floor between them. Basins are laid out in rows, each basin below a stream of water that falls from the spring at
+// x=500 or overflows a basin of the row above, so water reaches every basin and spreads wider with every row. A vein
+// off to the side of the spring comes first, since the solver expects the walls of basins to begin below the top row.
+public final class AOC2018Day17Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var basins = Math.max(1, (size + 2) / 3);
+        var streams = new TreeSet<Integer>();
+        streams.add(500);
+        out.write("x=490, y=1..2\n");
+        var top = 4;
+        while (basins > 0) {
+            var next = new TreeSet<Integer>();
+            var bottom = top;
+            var fence = Integer.MIN_VALUE; // the rightmost wall of the row so far, which basins keep 2 squares from
+            for (int stream : streams) {
+                if (stream <= fence + 1) continue; // held by the last basin
+                var left = Math.max(fence + 3, stream - random.nextInt(1, 8));
+                var right = stream + random.nextInt(1, 8);
+                // Streams must not land on a wall, or they would split on it.
+                while (streams.contains(right) || streams.contains(right + 1)) right++;
+                if (left >= stream || streams.contains(left)) {
+                    next.add(stream); // no room, so the stream falls through to the next row
+                    continue;
+                }
+                var floor = top + random.nextInt(1, 8);
+                out.write("x=%d, y=%d..%d\n".formatted(left, top, floor));
+                out.write("x=%d, y=%d..%d\n".formatted(right, top, floor));
+                out.write("y=%d, x=%d..%d\n".formatted(floor, left, right));
+                // The basin fills up and overflows on both sides.
+                next.add(left - 1);
+                next.add(right + 1);
+                fence = right;
+                bottom = Math.max(bottom, floor);
+                if (--basins == 0) break;
+            }
+            streams = next;
+            top = bottom + random.nextInt(2, 5);
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "veins";
+    }
+
+    @Override
+    public int base() {
+        return 30;
+    }
+}
@@ -0,0 +1,52 @@
+package generators.aoc2018;
+
+import generators.Generator;
+import solvers.Stage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// A square landscape of trees (|) with scattered 2 x 2 lumberyards (#), at least 2 acres apart. Random landscapes of
+// this size settle into many independent cycles, whose combined period part two cannot find, whereas in this one no
+// tree is next to 3 lumberyards and every lumberyard is next to another and to a tree, so it never changes and every
+// size does the same number of generations of work.
+public final class AOC2018Day18Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var map = new char[size][size];
+        for (char[] row : map) {
+            Arrays.fill(row, '|');
+        }
+        // Lumberyards sit at the top left of cells of 4 x 4 acres, leaving a 2 acre gap to the next lumberyard, and are
+        // kept off the edges, where an acre in a corner of a lumberyard would have no tree next to it.
+        for (int y = 1; y + 2 < size; y += 4) {
+            for (int x = 1; x + 2 < size; x += 4) {
+                if (random.nextInt(3) > 0) continue;
+                map[y][x] = map[y][x + 1] = map[y + 1][x] = map[y + 1][x + 1] = '#';
+            }
+        }
+        for (char[] row : map) {
+            out.write(row);
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "acres per side";
+    }
+
+    @Override
+    public int base() {
+        return 10;
+    }
+
+    // The size is the side of the landscape, so there are size^2 acres.
+    @Override
+    public double expected(Stage stage) {
+        return 2;
+    }
+}
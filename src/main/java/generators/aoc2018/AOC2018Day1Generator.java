@@ -0,0 +1,39 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// Frequency changes, e.g. +7 and -3. The last change brings the frequency back to 0, so that part two finds a
+// repeated frequency within the first pass through the changes rather than after an unbounded number of passes.
+public final class AOC2018Day1Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        long frequency = 0;
+        for (int i = 0; i < size - 1; i++) {
+            var change = random.nextInt(1, 20) * (random.nextBoolean() ? 1 : -1);
+            frequency += change;
+            write(change, out);
+        }
+        write(frequency == 0 ? 1 : -frequency, out);
+    }
+
+    private static void write(long change, Writer out) throws IOException {
+        if (change > 0) out.write('+');
+        out.write(Long.toString(change));
+        out.write('\n');
+    }
+
+    @Override
+    public String unit() {
+        return "changes";
+    }
+
+    @Override
+    public int base() {
+        return 10_000;
+    }
+}
@@ -0,0 +1,55 @@
+package generators.aoc2018;
+
+import generators.Generator;
+import solvers.Stage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// Box IDs of 26 lowercase letters, drawn from a small alphabet so that letters repeat, with exactly one pair of IDs
+// that differ by a single letter at the same position, which is what part two looks for. The pair is last, so that a
+// search that stops at the pair does its worst case at every size.
+public final class AOC2018Day2Generator implements Generator {
+    private static final int LENGTH = 26;
+
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        if (size < 2) throw new IllegalArgumentException("Size (%d) is less than 2.".formatted(size));
+        var random = new SplittableRandom(seed);
+        var twin = size - 2; // the index of the first ID of the pair; the second follows it
+        var ids = new char[size][];
+        for (int i = 0; i < size; i++) {
+            var id = new char[LENGTH];
+            for (int j = 0; j < LENGTH; j++) {
+                id[j] = (char) ('a' + random.nextInt(LENGTH));
+            }
+            ids[i] = id;
+        }
+        var pair = ids[twin + 1] = ids[twin].clone();
+        var position = random.nextInt(LENGTH);
+        pair[position] = (char) ('a' + (pair[position] - 'a' + 1 + random.nextInt(LENGTH - 1)) % LENGTH);
+        // IDs are 26 random letters, so any other pair differing by exactly one letter is vanishingly unlikely.
+        for (char[] id : ids) {
+            out.write(id);
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "IDs";
+    }
+
+    @Override
+    public int base() {
+        return 250;
+    }
+
+    // Letter counts are linear in the IDs, and so is finding the pair by hashing each ID with one letter masked out, so
+    // comparing every pair of IDs shows up as quadratic.
+    @Override
+    public double expected(Stage stage) {
+        return 1;
+    }
+}
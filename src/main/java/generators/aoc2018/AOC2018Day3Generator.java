@@ -0,0 +1,48 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// Claims of up to 29 x 29 inches on a sheet of 1000 x 1000 inches, e.g. #123 @ 3,2: 5x4. One claim, which part two
+// looks for, is kept clear of every other claim.
+public final class AOC2018Day3Generator implements Generator {
+    private static final int SHEET = 1000, MAX_SIDE = 29;
+
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var intact = random.nextInt(size);
+        int ix = random.nextInt(SHEET - MAX_SIDE), iy = random.nextInt(SHEET - MAX_SIDE);
+        int iw = random.nextInt(1, MAX_SIDE + 1), ih = random.nextInt(1, MAX_SIDE + 1);
+        for (int id = 1; id <= size; id++) {
+            int x, y, w, h;
+            if (id - 1 == intact) {
+                x = ix;
+                y = iy;
+                w = iw;
+                h = ih;
+            } else {
+                do {
+                    x = random.nextInt(SHEET - MAX_SIDE);
+                    y = random.nextInt(SHEET - MAX_SIDE);
+                    w = random.nextInt(1, MAX_SIDE + 1);
+                    h = random.nextInt(1, MAX_SIDE + 1);
+                } while (x < ix + iw && ix < x + w && y < iy + ih && iy < y + h);
+            }
+            out.write("#%d @ %d,%d: %dx%d\n".formatted(id, x, y, w, h));
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "claims";
+    }
+
+    @Override
+    public int base() {
+        return 250;
+    }
+}
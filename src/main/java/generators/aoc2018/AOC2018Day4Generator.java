@@ -0,0 +1,59 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+// Shifts of guards, one per night from 1518-01-01 onwards, each beginning shortly before or after midnight and
+// followed by one or more naps within the midnight hour. The records are shuffled, as in the bundled input.
+public final class AOC2018Day4Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var guards = (int) Math.sqrt(size) + 10;
+        var records = new ArrayList<String>();
+        var night = LocalDate.of(1518, 1, 1);
+        for (int shift = 0; shift < size; shift++, night = night.plusDays(1)) {
+            var id = 10 + 10 * random.nextInt(guards) + random.nextInt(10);
+            if (random.nextBoolean()) {
+                records.add("[%s 23:%02d] Guard #%d begins shift".formatted(night.minusDays(1), random.nextInt(45, 60), id));
+            } else {
+                records.add("[%s 00:%02d] Guard #%d begins shift".formatted(night, random.nextInt(0, 5), id));
+            }
+            // Naps start no earlier than 00:05, after every shift has begun, and end no later than 00:59.
+            var minute = 5;
+            do {
+                var asleep = random.nextInt(minute, Math.min(minute + 20, 58));
+                var awake = random.nextInt(asleep + 1, Math.min(asleep + 30, 59) + 1);
+                records.add("[%s 00:%02d] falls asleep".formatted(night, asleep));
+                records.add("[%s 00:%02d] wakes up".formatted(night, awake));
+                minute = awake + 1;
+            } while (minute < 50 && random.nextInt(3) > 0);
+        }
+        // Shuffle the records so that solvers have to sort them.
+        for (int i = records.size() - 1; i > 0; i--) {
+            var j = random.nextInt(i + 1);
+            var record = records.get(i);
+            records.set(i, records.get(j));
+            records.set(j, record);
+        }
+        for (String record : records) {
+            out.write(record);
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "shifts";
+    }
+
+    @Override
+    public int base() {
+        return 500;
+    }
+}
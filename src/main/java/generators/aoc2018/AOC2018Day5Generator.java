@@ -0,0 +1,32 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// A polymer of units, i.e. upper- and lowercase letters, on a single line.
+public final class AOC2018Day5Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var polymer = new char[size];
+        for (int i = 0; i < size; i++) {
+            var type = (char) ('a' + random.nextInt(26));
+            polymer[i] = random.nextBoolean() ? type : Character.toUpperCase(type);
+        }
+        out.write(polymer);
+        out.write('\n');
+    }
+
+    @Override
+    public String unit() {
+        return "units";
+    }
+
+    @Override
+    public int base() {
+        return 5_000;
+    }
+}
@@ -0,0 +1,32 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.SplittableRandom;
+
+// Distinct coordinates, e.g. 341, 330, spread over a square whose area grows with their number, as in the bundled input.
+public final class AOC2018Day6Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var side = (int) Math.ceil(Math.sqrt(size) * 40) + 10;
+        var seen = new HashSet<Long>();
+        while (seen.size() < size) {
+            int x = random.nextInt(10, side + 10), y = random.nextInt(10, side + 10);
+            if (seen.add((long) x << 32 | y)) out.write("%d, %d\n".formatted(x, y));
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "coordinates";
+    }
+
+    @Override
+    public int base() {
+        return 25;
+    }
+}
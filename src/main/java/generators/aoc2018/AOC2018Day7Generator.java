@@ -0,0 +1,67 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+// Edges between the 26 steps A to Z, e.g. Step C must be finished before step A can begin. The steps are put in a
+// random order, and every step but the last must be finished before some later step, so the graph is acyclic with a
+// single endpoint, as part two requires. Steps are single letters, so the size is clamped to between 25 edges (a
+// chain) and 325 edges (every pair of steps).
+public final class AOC2018Day7Generator implements Generator {
+    private static final int STEPS = 26;
+
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        var order = new char[STEPS];
+        for (int i = 0; i < STEPS; i++) {
+            var j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = (char) ('A' + i);
+        }
+        var edges = new boolean[STEPS][STEPS]; // between positions in the order, from the earlier to the later
+        var count = 0;
+        for (int i = 0; i < STEPS - 1; i++) {
+            edges[i][random.nextInt(i + 1, STEPS)] = true;
+            count++;
+        }
+        var target = Math.min(Math.max(size, STEPS - 1), STEPS * (STEPS - 1) / 2);
+        while (count < target) {
+            int i = random.nextInt(STEPS - 1), j = random.nextInt(i + 1, STEPS);
+            if (!edges[i][j]) {
+                edges[i][j] = true;
+                count++;
+            }
+        }
+        var lines = new ArrayList<String>(count);
+        for (int i = 0; i < STEPS; i++) {
+            for (int j = i + 1; j < STEPS; j++) {
+                if (edges[i][j]) lines.add("Step %c must be finished before step %c can begin.".formatted(order[i], order[j]));
+            }
+        }
+        for (int i = lines.size() - 1; i > 0; i--) {
+            var j = random.nextInt(i + 1);
+            var line = lines.get(i);
+            lines.set(i, lines.get(j));
+            lines.set(j, line);
+        }
+        for (String line : lines) {
+            out.write(line);
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "edges";
+    }
+
+    @Override
+    public int base() {
+        return 25;
+    }
+}
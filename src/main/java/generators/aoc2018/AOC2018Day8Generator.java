@@ -0,0 +1,53 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// A license tree of nodes, each a header of its number of children and metadata entries, then its children, then its
+// metadata entries, all on one line. The parent of node i is drawn from nodes i/4 to i/2, which keeps the tree about
+// log2(size) deep, since the solver parses it recursively.
+public final class AOC2018Day8Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        // Store the children of each node contiguously, in order of the nodes.
+        var parents = new int[size];
+        var counts = new int[size + 1];
+        for (int i = 1; i < size; i++) {
+            parents[i] = random.nextInt((i - 1) / 4, (i - 1) / 2 + 1);
+            counts[parents[i] + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            counts[i + 1] += counts[i];
+        }
+        var offsets = counts.clone();
+        var children = new int[Math.max(size - 1, 0)];
+        for (int i = 1; i < size; i++) {
+            children[offsets[parents[i]]++] = i;
+        }
+        var line = new StringBuilder();
+        write(0, counts, children, random, line);
+        line.setLength(line.length() - 1); // the trailing space
+        out.append(line).write('\n');
+    }
+
+    private static void write(int node, int[] counts, int[] children, SplittableRandom random, StringBuilder line) {
+        int from = counts[node], to = counts[node + 1];
+        var metadata = random.nextInt(1, 12);
+        line.append(to - from).append(' ').append(metadata).append(' ');
+        for (int i = from; i < to; i++) {
+            write(children[i], counts, children, random, line);
+        }
+        for (int i = 0; i < metadata; i++) {
+            line.append(random.nextInt(1, 10)).append(' ');
+        }
+    }
+
+    @Override
+    public String unit() {
+        return "nodes";
+    }
+}
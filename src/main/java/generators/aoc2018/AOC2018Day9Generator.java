@@ -0,0 +1,21 @@
+package generators.aoc2018;
+
+import generators.Generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+// The rules of the marble game, e.g. 463 players; last marble is worth 71787 points. Part two plays 100 times as long.
+public final class AOC2018Day9Generator implements Generator {
+    @Override
+    public void generate(int size, long seed, Writer out) throws IOException {
+        var random = new SplittableRandom(seed);
+        out.write("%d players; last marble is worth %d points\n".formatted(random.nextInt(10, 500), size));
+    }
+
+    @Override
+    public String unit() {
+        return "marbles";
+    }
+}
@@ -0,0 +1,151 @@
+package runner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import solvers.AOCDay;
+import solvers.Registry;
+import solvers.Settings;
+import solvers.Solution;
+import solvers.Stage;
+import utils.Histogram;
+import utils.Input;
+import utils.Output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Solves one day against many inputs, e.g. from different accounts or generators, on a pool of threads.
+ * <p>
+ * The solver is constructed once and shared by every thread, since solvers keep no state between calls of
+ * {@link AOCDay#measure(Settings, Input)}; each input is read and parsed on the thread that solves it. The answers to
+ * each input are logged in the order of the inputs, followed by the throughput and the latency distribution of the
+ * whole batch.
+ * <p>
+ * Each input is solved exactly once, without warmups or the answer cache, so that the latency of an input is the time
+ * to read, parse and solve it once, and the throughput counts inputs rather than runs.
+ */
+final class Batch {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Batch.class);
+
+    private final Registry.Entry entry;
+    private final Settings settings;
+    private final int threads;
+
+    Batch(Registry.Entry entry, Settings settings, int threads) {
+        this.entry = entry;
+        this.settings = settings.withCache(false).withWarmups(0).withRuns(1);
+        this.threads = threads;
+    }
+
+    /**
+     * Finds the inputs of a batch.
+     *
+     * @param inputs a directory, whose regular files are the inputs, or a glob such as <code>inputs/day3-*.txt</code>
+     * @return the inputs, sorted by path
+     */
+    static List<Path> inputs(String inputs) throws IOException {
+        var glob = inputs.chars().anyMatch(c -> "*?[{".indexOf(c) >= 0);
+        if (!glob) {
+            var directory = Path.of(inputs);
+            if (!Files.isDirectory(directory)) throw new IOException("%s is not a directory or a glob.".formatted(inputs));
+            try (var files = Files.list(directory)) {
+                return files.filter(Files::isRegularFile).sorted().toList();
+            }
+        }
+        // Walk from the deepest directory that precedes the first wildcard.
+        var wildcard = 0;
+        while ("*?[{".indexOf(inputs.charAt(wildcard)) < 0) wildcard++;
+        var separator = inputs.lastIndexOf('/', wildcard);
+        var base = Path.of(separator < 0 ? "." : inputs.substring(0, separator + 1));
+        var matcher = base.getFileSystem().getPathMatcher("glob:" + (separator < 0 ? "./" + inputs : inputs));
+        try (var files = Files.walk(base)) {
+            return files.filter(Files::isRegularFile).filter(matcher::matches).sorted().toList();
+        }
+    }
+
+    int solve(List<Path> inputs) throws IOException {
+        if (inputs.isEmpty()) {
+            LOGGER.error("No inputs to solve.");
+            return Runner.USAGE;
+        }
+        Output.render(false); // artifacts of different inputs would overwrite each other
+        var solver = entry.construct();
+        var count = new AtomicInteger();
+        var pool = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "batch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        var start = System.nanoTime();
+        try {
+            var futures = new ArrayList<Future<Outcome>>();
+            for (Path path : inputs) {
+                futures.add(pool.submit(() -> solve(solver, path)));
+            }
+            var latencies = new Histogram();
+            var failures = 0;
+            for (Future<Outcome> future : futures) {
+                var outcome = future.get();
+                LOGGER.info("{}", outcome);
+                if (outcome.failure() != null) failures++;
+                else latencies.record(outcome.latency());
+            }
+            var wall = System.nanoTime() - start;
+            LOGGER.info("Solved {} input{} ({} failed) of {} day {} in {} ms on {} thread{}: {} inputs/s, latency p50 {} ms, p99 {} ms, max {} ms.",
+                    inputs.size(), inputs.size() == 1 ? "" : "s", failures, entry.year(), entry.day(), wall / 1_000_000,
+                    threads, threads == 1 ? "" : "s", "%.01f".formatted(inputs.size() / (wall / 1e9)),
+                    millis(latencies.percentile(50)), millis(latencies.percentile(99)), millis(latencies.max()));
+            Output.flush();
+            return failures > 0 ? Runner.FAILED : Runner.OK;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause()); // outcomes carry their own failures, so this is unexpected
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String millis(long nanos) {
+        return "%.03f".formatted(nanos / 1_000_000.0);
+    }
+
+    // Reads and solves one input, recording a failure rather than throwing it, so that one bad input does not end the batch.
+    private Outcome solve(AOCDay<?, ?> solver, Path path) {
+        var start = System.nanoTime();
+        try {
+            var solutions = solver.measure(settings, Input.read(path));
+            return new Outcome(path, solutions, System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException | Error e) { // e.g. a StackOverflowError from a malformed input
+            return new Outcome(path, List.of(), System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * The outcome of solving one input of a batch.
+     *
+     * @param latency the time to read, parse and solve the input, in ns
+     * @param failure what went wrong, or null if the input was solved
+     */
+    private record Outcome(Path path, List<Solution<?>> solutions, long latency, Throwable failure) {
+        @Override
+        public String toString() {
+            if (failure != null) return "%s: failed: %s".formatted(path, failure);
+            var answers = solutions.stream()
+                    .filter(solution -> solution.stage() != Stage.PARSE)
+                    .map(solution -> "%s -> %s".formatted(solution.stage(), solution.answer()))
+                    .collect(Collectors.joining(", "));
+            return "%s: %s (%.03f ms)".formatted(path, answers, latency / 1_000_000.0);
+        }
+    }
+}
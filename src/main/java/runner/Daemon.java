@@ -0,0 +1,185 @@
+package runner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import solvers.AOCDay;
+import solvers.Registry;
+import solvers.Settings;
+import solvers.Solution;
+import utils.Output;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A long-lived runner that keeps the registry, the solvers and their JIT-compiled code resident between requests, so
+ * that repeated runs during a tuning session skip JVM startup, class loading and warmup.
+ * <p>
+ * Requests are lines of the same options as the command line, e.g. <code>--day 3 --part 2 --runs 1</code>, read from
+ * stdin or from clients of a loopback TCP port or a Unix-domain socket, one client at a time so that requests do not
+ * disturb each other's timings. Each request is answered with its solutions and the latency of solving each day:
+ * cold for the first request for a day with given parts, warmups and runs, and warm, with the speedup, for later ones.
+ * The answer cache is bypassed, since the point of the daemon is to time solving, and {@code --no-render} applies to
+ * its request only. Options that configure the whole JVM, such as {@code --trace}, {@code --metrics} and
+ * {@code --log-level}, or that write reports, belong on the daemon's own command line and are rejected in requests.
+ * Besides options, a request may be <code>list</code>, <code>reload</code> (construct the solvers afresh, re-reading
+ * their inputs), <code>quit</code> (end the connection) or <code>shutdown</code> (stop the daemon).
+ * <p>
+ * When serving stdin, responses are the only output on stdout, each ended by a line holding <code>.</code>; logs go to
+ * stderr.
+ */
+final class Daemon {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Daemon.class);
+
+    private final Registry registry;
+    private final Map<Registry.Entry, AOCDay<?, ?>> resident = new HashMap<>();
+    private final Map<String, Long> cold = new HashMap<>(); // the first latency of each day and settings, in ns
+    private boolean shutdown = false;
+
+    Daemon(Registry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Serves requests until shutdown.
+     *
+     * @param address <code>-</code> for stdin, a port number for a loopback TCP port, or else the path of a
+     *                Unix-domain socket
+     */
+    int serve(String address) throws IOException {
+        if (address.equals("-")) {
+            // Responses keep stdout to themselves: everything else printed to it, logs included, goes to stderr.
+            var stdout = System.out;
+            var in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            var out = new PrintWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8), true);
+            System.setOut(System.err);
+            try {
+                session(in, out);
+            } finally {
+                System.setOut(stdout);
+            }
+            return Runner.OK;
+        }
+        ServerSocketChannel server;
+        Path socket = null;
+        if (address.chars().allMatch(Character::isDigit)) {
+            server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address)));
+        } else {
+            socket = Path.of(address);
+            Files.deleteIfExists(socket); // left behind by a daemon that did not shut down cleanly
+            server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            server.bind(UnixDomainSocketAddress.of(socket));
+        }
+        try (server) {
+            LOGGER.info("Serving {} solvers on {}.", registry.all().size(), server.getLocalAddress());
+            while (!shutdown) {
+                try (var client = server.accept();
+                     var in = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+                     var out = new PrintWriter(new OutputStreamWriter(Channels.newOutputStream(client), StandardCharsets.UTF_8), true)) {
+                    session(in, out);
+                } catch (IOException e) {
+                    LOGGER.warn("Client disconnected: {}", e.toString());
+                }
+            }
+        } finally {
+            if (socket != null) Files.deleteIfExists(socket);
+        }
+        return Runner.OK;
+    }
+
+    // Answers the requests of one client until it quits or disconnects.
+    private void session(BufferedReader in, PrintWriter out) throws IOException {
+        for (String line; !shutdown && (line = in.readLine()) != null; ) {
+            var request = line.strip();
+            if (request.isEmpty()) continue;
+            switch (request) {
+                case "quit", "exit" -> {
+                    return;
+                }
+                case "shutdown" -> shutdown = true;
+                case "list" -> registry.all().forEach(out::println);
+                case "reload" -> {
+                    resident.clear();
+                    cold.clear(); // fresh solvers are cold again
+                    out.println("Solvers will be constructed afresh.");
+                }
+                default -> {
+                    try {
+                        handle(request.split("\\s+"), out);
+                    } catch (IOException | RuntimeException | AssertionError e) {
+                        out.println("Failed: %s".formatted(e));
+                    }
+                }
+            }
+            out.println("."); // ends the response
+        }
+    }
+
+    private void handle(String[] args, PrintWriter out) throws IOException {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage());
+            return;
+        }
+        if (options.stream() != null || options.daemon() != null || options.watch() || options.batch() != null
+                || options.generate() > 0 || options.scaling() > 0 || options.verify()
+                || options.footprint()) {
+            out.println("--stream, --daemon, --watch, --batch, --generate, --scaling, --verify and --footprint cannot be used in a request.");
+            return;
+        }
+        if (options.trace() || options.chromeTrace() != null || options.metrics() || options.logLevel() != null
+                || !options.dayLogLevels().isEmpty() || options.report() != null || options.baseline() != null) {
+            out.println("--trace, --trace-chrome, --metrics, --log-level, --report and --baseline cannot be used in a request; pass them to the daemon instead.");
+            return;
+        }
+        var selected = registry.select(options.years(), options.days());
+        if (selected.isEmpty()) {
+            out.println("No solvers match the selected years and days.");
+            return;
+        }
+        var settings = options.settings().withCache(false);
+        var rendering = Output.rendering();
+        if (options.noRender()) Output.render(false);
+        try {
+            solve(selected, settings, out);
+        } finally {
+            Output.render(rendering);
+        }
+        Output.flush();
+    }
+
+    private void solve(List<Registry.Entry> selected, Settings settings, PrintWriter out) throws IOException {
+        for (Registry.Entry entry : selected) {
+            var start = System.nanoTime();
+            var constructed = !resident.containsKey(entry);
+            var solver = constructed ? entry.construct() : resident.get(entry);
+            resident.put(entry, solver);
+            var solutions = solver.measure(settings);
+            var latency = System.nanoTime() - start;
+            solutions.stream().map(Solution::toString).forEach(out::println);
+
+            var key = "%s %s %d+%d".formatted(entry, new TreeSet<>(settings.stages()), settings.warmups(), settings.runs());
+            var first = cold.putIfAbsent(key, latency);
+            var label = first == null
+                    ? "cold"
+                    : "warm, %.01fx faster than cold %.03f ms".formatted((double) first / latency, first / 1_000_000.0);
+            out.println("%d day %d: latency %.03f ms (%s%s)".formatted(entry.year(), entry.day(), latency / 1_000_000.0,
+                    label, constructed ? ", constructed" : ""));
+        }
+    }
+}
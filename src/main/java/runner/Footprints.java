@@ -0,0 +1,85 @@
+package runner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import solvers.Footprint;
+import solvers.Registry;
+import solvers.Settings;
+import solvers.Stage;
+import utils.Heap;
+import utils.Output;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static utils.JsonUtils.number;
+
+/**
+ * Measures the heap footprint of the selected days, one at a time since the heap is shared: the heap retained by each
+ * parsed input, and the peak heap while solving each part on top of it. Days are then listed by the heap their parsed
+ * inputs retain, with how many times larger than the input file that is, so the data structures most in need of a
+ * compact representation come first. With a report directory, the footprints are also written to
+ * <code>footprint.csv</code>.
+ * <p>
+ * Peaks include garbage that the collector had yet to reclaim, so they shrink with a smaller heap (e.g. {@code -Xmx})
+ * and are most comparable between runs with the same collector and heap size.
+ */
+final class Footprints {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Footprints.class);
+    private static final List<String> HEADER = List.of("year", "day", "input_bytes", "parsed_retained_bytes",
+            "expansion", "part1_peak_bytes", "part2_peak_bytes", "timed_out");
+
+    private final Settings settings;
+    private final Path directory;
+
+    /**
+     * @param directory the directory to write <code>footprint.csv</code> to, or null to only log the footprints
+     */
+    Footprints(Settings settings, Path directory) {
+        this.settings = settings;
+        this.directory = directory;
+    }
+
+    int run(List<Registry.Entry> selected) throws IOException {
+        Output.render(false); // rendering would allocate on the writer thread while parts are measured
+        var footprints = new ArrayList<Footprint>();
+        for (Registry.Entry entry : selected) {
+            var solver = entry.construct();
+            var footprint = solver.footprint(settings);
+            LOGGER.info("{}", footprint);
+            footprints.add(footprint);
+        }
+        var ranked = footprints.stream()
+                .sorted(Comparator.comparingLong(Footprint::retained).reversed())
+                .map(footprint -> "%d day %d %s (%.01fx)".formatted(footprint.year(), footprint.day(),
+                        Heap.format(footprint.retained()), footprint.expansion()))
+                .toList();
+        LOGGER.info("Parsed inputs by retained heap: {}.", String.join(", ", ranked));
+
+        if (directory != null) {
+            Files.createDirectories(directory);
+            var lines = new ArrayList<String>();
+            lines.add(String.join(",", HEADER));
+            footprints.forEach(footprint -> lines.add(csv(footprint)));
+            Files.write(directory.resolve("footprint.csv"), lines);
+            LOGGER.info("Wrote footprints of {} days to {}.", footprints.size(), directory);
+        }
+        Output.flush();
+        return Runner.OK;
+    }
+
+    private static String csv(Footprint footprint) {
+        var one = footprint.parts().get(Stage.PART_ONE);
+        var two = footprint.parts().get(Stage.PART_TWO);
+        var timedOut = footprint.parts().values().stream().anyMatch(Footprint.Part::timedOut);
+        return String.join(",", String.valueOf(footprint.year()), String.valueOf(footprint.day()),
+                String.valueOf(footprint.input()), String.valueOf(footprint.retained()),
+                number(footprint.expansion(), 3),
+                one == null ? "" : String.valueOf(one.peak()), two == null ? "" : String.valueOf(two.peak()),
+                String.valueOf(timedOut));
+    }
+}
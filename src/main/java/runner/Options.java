@@ -0,0 +1,312 @@
+package runner;
+
+import org.apache.logging.log4j.Level;
+import solvers.Settings;
+import solvers.Stage;
+
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Command-line options of the runner. Unset options fall back to the <code>aoc.*</code> system properties.
+ */
+public final class Options {
+    public static final String USAGE = """
+            Usage: Main [options]
+              --year <range>        years to solve, e.g. 2018 or 2015-2018 (default: all)
+              --day <range>         days to solve, e.g. 3, 1-5 or 1-5,9,12-14 (default: all)
+              --part <range>        parts to solve: 1, 2 or 1-2 (default: 1-2)
+              --warmups <n>         untimed runs of each part before measuring (default: 0)
+              --runs <n>            measured runs of each part (default: 1)
+              --no-cache            solve every part, rather than returning the answers cached from earlier runs with the
+                                    same solver code and input (cache: .aoc-cache, or the aoc.cache.dir property)
+              --budget <ms>         time each run of a part may take before it is abandoned and reported as timed out,
+                                    for solvers that poll for it (default: no limit, or the aoc.budget property)
+              --no-render           skip rendering artifacts such as images; answers are still written
+              --report <dir>        write report.json and report.csv to a directory
+              --baseline <csv>      compare against the report.csv of an earlier run, exiting with 1 on regressions
+              --threshold <x>       relative slowdown that counts as a regression (default: 0.10)
+              --trace               emit JFR events for traced phases
+              --log-level <[days=]level,...>
+                                    log level of the runner and every solver, or of the solvers of some days, e.g.
+                                    warn,15=debug,16-18=off (default: the levels of log4j2.xml)
+              --metrics             log the rates of progress counters of long simulations, e.g. marbles placed, every
+                                    second (or every aoc.metrics.interval ms) while solving
+              --trace-chrome <file> also write traced phases as a Chrome trace
+              --stream <file|->     solve the selected day from the lines of a file or stdin, without holding them all
+                                    in memory; only for parts a solver can stream
+              --daemon <port|path|->
+                                    stay resident and solve requests, each a line of these options, from a loopback
+                                    TCP port, a Unix-domain socket or stdin, reporting cold and warm latencies
+              --watch               solve the selected days, then again whenever their inputs change, reusing the
+                                    constructed solvers (inputs: src/main/resources/input, or the aoc.input.dir property)
+              --batch <dir|glob>    solve the selected day against every input in a directory or matching a glob,
+                                    once each on --threads threads, without warmups or the cache, reporting answers,
+                                    throughput and latencies
+              --generate <size>     write a synthetic input of a size for the selected day, e.g. a number of lines,
+                                    instead of solving; combine with --batch or aoc.input.dir to solve it
+              --seed <n>            seed of the generated input, which is the same for the same size and seed (default: 0)
+              --out <file>          file to write the generated input to (default: stdout)
+              --scaling <n>         solve the selected days at n doubling sizes of generated inputs, fitting how their
+                                    time and allocation grow; writes tables and plots to the --report dir (default: report)
+              --verify              run the selected days' checks, e.g. the examples from their puzzles, instead of
+                                    solving, exiting with 3 if any fail
+              --footprint           measure the heap retained by each selected day's parsed input and the peak heap of
+                                    each part, one day at a time, instead of timing; writes footprint.csv to --report
+              --threads <n>         days (or batch inputs) solved concurrently, with any threads left over solving part two of
+                                    a day alongside part one (default: the number of available processors)
+              --sequential          solve one day at a time on the main thread, for the cleanest timings
+              --list                list the registered solvers and exit
+              --help                show this message and exit
+            """;
+
+    private IntPredicate years = year -> true, days = day -> true;
+    private Settings settings = Settings.defaults();
+    private Path report = pathProperty("aoc.report"), baseline = pathProperty("aoc.baseline"), chromeTrace = null, out = null;
+    private String stream = null, daemon = null, batch = null;
+    private double threshold = Double.parseDouble(System.getProperty("aoc.threshold", "0.10"));
+    private int threads = Runtime.getRuntime().availableProcessors(), generate = -1, scaling = -1;
+    private long seed = 0;
+    private boolean watch = false, verify = false, footprint = false, noRender = false, sequential = false;
+    private boolean trace = false, metrics = false, list = false, help = false;
+    private Level logLevel = null;
+    private final Map<Integer, Level> dayLogLevels = new TreeMap<>();
+
+    private Options() {
+    }
+
+    private static Path pathProperty(String key) {
+        var value = System.getProperty(key);
+        return value == null ? null : Path.of(value);
+    }
+
+    /**
+     * Parses the command-line arguments.
+     *
+     * @throws IllegalArgumentException if an argument is unknown, is missing its value, or has a malformed value
+     */
+    public static Options parse(String... args) {
+        var options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            var arg = args[i];
+            switch (arg) {
+                case "--year" -> options.years = range(value(args, ++i, arg));
+                case "--day" -> options.days = range(value(args, ++i, arg));
+                case "--part" -> {
+                    var parts = range(value(args, i + 1, arg));
+                    var stages = EnumSet.noneOf(Stage.class);
+                    if (parts.test(1)) stages.add(Stage.PART_ONE);
+                    if (parts.test(2)) stages.add(Stage.PART_TWO);
+                    if (stages.isEmpty()) throw new IllegalArgumentException("No such part: %s.".formatted(args[i + 1]));
+                    options.settings = options.settings.withStages(stages);
+                    i++;
+                }
+                case "--warmups" -> options.settings = options.settings.withWarmups(integer(value(args, ++i, arg)));
+                case "--runs" -> options.settings = options.settings.withRuns(integer(value(args, ++i, arg)));
+                case "--no-cache" -> options.settings = options.settings.withCache(false);
+                case "--budget" -> options.settings = options.settings.withBudget(integer(value(args, ++i, arg)));
+                case "--no-render" -> options.noRender = true;
+                case "--report" -> options.report = Path.of(value(args, ++i, arg));
+                case "--baseline" -> options.baseline = Path.of(value(args, ++i, arg));
+                case "--threshold" -> options.threshold = Double.parseDouble(value(args, ++i, arg));
+                case "--stream" -> options.stream = value(args, ++i, arg);
+                case "--daemon" -> options.daemon = value(args, ++i, arg);
+                case "--batch" -> options.batch = value(args, ++i, arg);
+                case "--watch" -> options.watch = true;
+                case "--verify" -> options.verify = true;
+                case "--footprint" -> options.footprint = true;
+                case "--generate" -> {
+                    options.generate = integer(value(args, ++i, arg));
+                    if (options.generate < 1) throw new IllegalArgumentException("Input size (%d) is less than 1.".formatted(options.generate));
+                }
+                case "--seed" -> {
+                    var seed = value(args, ++i, arg);
+                    try {
+                        options.seed = Long.parseLong(seed);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Not an integer: %s.".formatted(seed));
+                    }
+                }
+                case "--out" -> options.out = Path.of(value(args, ++i, arg));
+                case "--scaling" -> {
+                    options.scaling = integer(value(args, ++i, arg));
+                    if (options.scaling < 2) throw new IllegalArgumentException("Size count (%d) is less than 2.".formatted(options.scaling));
+                }
+                case "--threads" -> {
+                    options.threads = integer(value(args, ++i, arg));
+                    if (options.threads < 1) throw new IllegalArgumentException("Thread count (%d) is less than 1.".formatted(options.threads));
+                }
+                case "--sequential" -> options.sequential = true;
+                case "--trace" -> options.trace = true;
+                case "--metrics" -> options.metrics = true;
+                case "--log-level" -> options.logLevels(value(args, ++i, arg));
+                case "--trace-chrome" -> options.chromeTrace = Path.of(value(args, ++i, arg));
+                case "--list" -> options.list = true;
+                case "--help", "-h" -> options.help = true;
+                default -> throw new IllegalArgumentException("Unknown option: %s.".formatted(arg));
+            }
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) throw new IllegalArgumentException("Missing value for %s.".formatted(option));
+        return args[i];
+    }
+
+    private static int integer(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an integer: %s.".formatted(value));
+        }
+    }
+
+    // Parses a comma-separated list of levels, each for every logger or for the solvers of a range of days.
+    private void logLevels(String value) {
+        for (String part : value.split(",")) {
+            var assignment = part.strip().split("=", 2);
+            var name = assignment[assignment.length - 1].strip();
+            var level = Level.toLevel(name, null);
+            if (level == null) throw new IllegalArgumentException("No such log level: %s.".formatted(name));
+            if (assignment.length == 1) {
+                logLevel = level;
+                continue;
+            }
+            var days = range(assignment[0]);
+            for (int day = 1; day <= 25; day++) {
+                if (days.test(day)) dayLogLevels.put(day, level);
+            }
+        }
+    }
+
+    // Parses a comma-separated list of numbers and inclusive ranges, e.g. "1-5,9,12-14".
+    static IntPredicate range(String value) {
+        var selected = new BitSet();
+        for (String part : value.split(",")) {
+            var bounds = part.strip().split("-", 2);
+            var lo = integer(bounds[0].strip());
+            var hi = bounds.length == 1 ? lo : integer(bounds[1].strip());
+            if (lo < 0 || hi < lo) throw new IllegalArgumentException("Malformed range: %s.".formatted(part));
+            selected.set(lo, hi + 1);
+        }
+        return selected::get;
+    }
+
+    public IntPredicate years() {
+        return years;
+    }
+
+    public IntPredicate days() {
+        return days;
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    public Path report() {
+        return report;
+    }
+
+    public Path baseline() {
+        return baseline;
+    }
+
+    public double threshold() {
+        return threshold;
+    }
+
+    // Returns the file to stream lines from, "-" for stdin, or null if not streaming.
+    public String stream() {
+        return stream;
+    }
+
+    // Returns the port, socket path or "-" for stdin to serve requests on, or null if not running as a daemon.
+    public String daemon() {
+        return daemon;
+    }
+
+    // Returns the directory or glob of inputs to solve, or null if not solving a batch.
+    public String batch() {
+        return batch;
+    }
+
+    public boolean watch() {
+        return watch;
+    }
+
+    public boolean verify() {
+        return verify;
+    }
+
+    public boolean footprint() {
+        return footprint;
+    }
+
+    // Returns the size of the input to generate, or -1 if not generating one.
+    public int generate() {
+        return generate;
+    }
+
+    // Returns the number of doubling sizes to solve each day at, or -1 if not measuring scaling.
+    public int scaling() {
+        return scaling;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    // Returns the file to write a generated input to, or null for stdout.
+    public Path out() {
+        return out;
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    public boolean sequential() {
+        return sequential;
+    }
+
+    public boolean trace() {
+        return trace;
+    }
+
+    // Returns the level of every logger, or null to keep the configured levels.
+    public Level logLevel() {
+        return logLevel;
+    }
+
+    // Returns the levels of the solvers of days whose level was set, which take precedence over logLevel().
+    public Map<Integer, Level> dayLogLevels() {
+        return Collections.unmodifiableMap(dayLogLevels);
+    }
+
+    public boolean metrics() {
+        return metrics;
+    }
+
+    public Path chromeTrace() {
+        return chromeTrace;
+    }
+
+    public boolean list() {
+        return list;
+    }
+
+    public boolean help() {
+        return help;
+    }
+
+    public boolean noRender() {
+        return noRender;
+    }
+}
@@ -0,0 +1,273 @@
+package runner;
+
+import generators.Generators;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import solvers.AOCDay;
+import solvers.Registry;
+import solvers.Report;
+import solvers.Solution;
+import solvers.Stage;
+import solvers.StreamingSolver;
+import utils.Benchmark;
+import utils.Metrics;
+import utils.Output;
+import utils.Tracer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the solvers selected by the command-line options, constructing each one only when it is about to run.
+ * <p>
+ * Days are independent of each other, so by default they are solved concurrently on a pool of at most
+ * {@link Options#threads()} threads. Each day runs start to finish on a single thread, which keeps its CPU time and
+ * allocation figures isolated from the other days; its solutions are buffered and logged in year and day order once
+ * every day is done. Wall times of concurrent days still contend for cores and GC, so {@code --sequential} is
+ * preferable when the timings themselves matter.
+ */
+public final class Runner {
+    public static final int OK = 0, REGRESSED = 1, USAGE = 2, FAILED = 3;
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Runner.class);
+
+    private final Options options;
+    private final Registry registry;
+
+    public Runner(Options options, Registry registry) {
+        this.options = options;
+        this.registry = registry;
+    }
+
+    // Returns the exit code of the run.
+    public static int run(String... args) throws IOException {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(Options.USAGE);
+            return USAGE;
+        }
+        if (options.help()) {
+            System.out.print(Options.USAGE);
+            return OK;
+        }
+        return new Runner(options, Registry.load()).run();
+    }
+
+    public int run() throws IOException {
+        var selected = registry.select(options.years(), options.days());
+        if (options.list()) {
+            selected.forEach(System.out::println);
+            return OK;
+        }
+        if (selected.isEmpty()) {
+            LOGGER.error("No solvers match the selected years and days.");
+            return USAGE;
+        }
+        if (options.logLevel() != null) Configurator.setRootLevel(options.logLevel());
+        for (Registry.Entry entry : selected) {
+            var level = options.dayLogLevels().get(entry.day());
+            if (level != null) Configurator.setLevel(entry.loggerName(), level);
+        }
+        if (options.generate() > 0) return generate(selected);
+        if (options.trace() || options.chromeTrace() != null) Tracer.enable(options.chromeTrace());
+        if (options.metrics() && !Metrics.reporting()) Metrics.report(Long.getLong("aoc.metrics.interval", 1_000));
+        if (options.noRender()) Output.render(false);
+        if (options.scaling() > 0) {
+            var directory = options.report() == null ? Path.of("report") : options.report();
+            return new Scaling(options.settings(), options.scaling(), directory).run(selected);
+        }
+        if (options.verify()) {
+            var threads = options.sequential() ? 1 : Math.min(options.threads(), selected.size());
+            return new Verifier(threads).verify(selected);
+        }
+        if (options.footprint()) return new Footprints(options.settings(), options.report()).run(selected);
+        if (options.stream() != null) return stream(selected);
+        if (options.daemon() != null) return new Daemon(registry).serve(options.daemon());
+        if (options.batch() != null) {
+            if (selected.size() != 1) {
+                LOGGER.error("A batch needs exactly one day to be selected, but {} were.", selected.size());
+                return USAGE;
+            }
+            var threads = options.sequential() ? 1 : options.threads();
+            AOCDay.partThreads(0); // the inputs already keep every thread busy
+            return new Batch(selected.get(0), options.settings(), threads).solve(Batch.inputs(options.batch()));
+        }
+        if (options.watch()) {
+            var inputs = Path.of(System.getProperty("aoc.input.dir", "src/main/resources/input"));
+            return new Watcher(inputs, options.settings()).watch(selected);
+        }
+
+        var threads = options.sequential() ? 1 : Math.min(options.threads(), selected.size());
+        AOCDay.partThreads(options.sequential() ? 0 : options.threads() - threads);
+        var start = System.nanoTime();
+        var days = threads == 1 ? solveSequentially(selected) : solveConcurrently(selected, threads);
+        var wall = System.nanoTime() - start;
+
+        var report = new Report();
+        for (Day day : days) {
+            day.solutions().forEach(solution -> LOGGER.info("{}", solution));
+            report.add(day.solutions());
+        }
+        days.forEach(day -> LOGGER.info("{}", day));
+        LOGGER.info("Solved {} day{} in {} ms{}.", days.size(), days.size() == 1 ? "" : "s", wall / 1_000_000,
+                threads == 1 ? " sequentially" : " on %d threads".formatted(threads));
+        start = System.nanoTime();
+        Output.flush();
+        LOGGER.info("Finished writing output in {} ms.", (System.nanoTime() - start) / 1_000_000);
+        Tracer.flush();
+
+        if (options.report() != null) report.write(options.report());
+        if (options.baseline() != null && !report.compare(options.baseline(), options.threshold()).isEmpty()) {
+            return REGRESSED;
+        }
+        return OK;
+    }
+
+    // Writes a synthetic input for a single day, rather than solving it.
+    private int generate(List<Registry.Entry> selected) throws IOException {
+        if (selected.size() != 1) {
+            LOGGER.error("Generating needs exactly one day to be selected, but {} were.", selected.size());
+            return USAGE;
+        }
+        var entry = selected.get(0);
+        var generator = Generators.of(entry.year(), entry.day()).orElse(null);
+        if (generator == null) {
+            LOGGER.error("{} has no input generator.", entry);
+            return USAGE;
+        }
+        var start = System.nanoTime();
+        if (options.out() == null) {
+            var out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            generator.generate(options.generate(), options.seed(), out);
+            out.flush(); // but leave stdout open
+        } else {
+            var parent = options.out().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (var out = Files.newBufferedWriter(options.out())) {
+                generator.generate(options.generate(), options.seed(), out);
+            }
+            LOGGER.info("Generated {} {} for {} with seed {} into {} in {} ms.", options.generate(), generator.unit(), entry,
+                    options.seed(), options.out(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return OK;
+    }
+
+    // Solves the selected parts of a single day from a stream of lines, one pass over the stream per part.
+    private int stream(List<Registry.Entry> selected) throws IOException {
+        if (selected.size() != 1) {
+            LOGGER.error("Streaming needs exactly one day to be selected, but {} were.", selected.size());
+            return USAGE;
+        }
+        var entry = selected.get(0);
+        var parts = options.settings().stages().stream()
+                .filter(stage -> stage != Stage.PARSE)
+                .sorted()
+                .toList();
+        if (!(entry.construct() instanceof StreamingSolver<?> solver)) {
+            LOGGER.error("{} cannot stream its input.", entry);
+            return USAGE;
+        }
+        if (!parts.stream().allMatch(solver::streams)) {
+            LOGGER.error("{} cannot stream {}; select a part with --part.", entry, parts);
+            return USAGE;
+        }
+        var stdin = options.stream().equals("-");
+        if (stdin && parts.size() > 1) {
+            LOGGER.error("Only one part can be streamed from stdin; select it with --part.");
+            return USAGE;
+        }
+        for (Stage stage : parts) {
+            var start = System.nanoTime();
+            Object answer;
+            try (var lines = stdin
+                    ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)).lines()
+                    : Files.lines(Path.of(options.stream()))) {
+                answer = solver.solve(stage, lines);
+            }
+            LOGGER.info("Advent of Code {}, day {}, {} -> {} (streamed from {} in {} ms)", entry.year(), entry.day(), stage,
+                    answer, stdin ? "stdin" : options.stream(), (System.nanoTime() - start) / 1_000_000);
+        }
+        Tracer.flush();
+        return OK;
+    }
+
+    // Constructs and solves a day on the current thread.
+    private Day solve(Registry.Entry entry) throws IOException {
+        var cpu = Benchmark.cpuTime();
+        var offloaded = AOCDay.offloadedCpuTime();
+        var start = System.nanoTime();
+        var solutions = entry.construct().measure(options.settings());
+        var wall = System.nanoTime() - start;
+        return new Day(entry, solutions, wall,
+                cpu < 0 ? -1 : Benchmark.cpuTime() - cpu + AOCDay.offloadedCpuTime() - offloaded);
+    }
+
+    private List<Day> solveSequentially(List<Registry.Entry> selected) throws IOException {
+        var days = new ArrayList<Day>();
+        for (Registry.Entry entry : selected) {
+            days.add(solve(entry));
+        }
+        return days;
+    }
+
+    private List<Day> solveConcurrently(List<Registry.Entry> selected, int threads) throws IOException {
+        var count = new AtomicInteger();
+        var pool = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "runner-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var futures = new ArrayList<Future<Day>>();
+            for (Registry.Entry entry : selected) {
+                futures.add(pool.submit(() -> solve(entry)));
+            }
+            var days = new ArrayList<Day>();
+            for (Future<Day> future : futures) {
+                days.add(future.get());
+            }
+            return days;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * The outcome of solving one day, measured on the thread that solved it.
+     *
+     * @param wall the wall-clock time to construct the solver and solve every selected stage, in ns
+     * @param cpu  the CPU time spent doing so, in ns, or -1 if unsupported by the JVM; this includes part two of a day
+     *             with {@linkplain solvers.AOCDay#independentParts() independent parts} when it ran on a thread of its
+     *             own
+     */
+    public record Day(Registry.Entry entry, List<? extends Solution<?>> solutions, long wall, long cpu) {
+        @Override
+        public String toString() {
+            var cpuTime = cpu < 0 ? "n/a" : "%.03f ms".formatted(cpu / 1_000_000.0);
+            return "%d day %d: wall %.03f ms, cpu %s".formatted(entry.year(), entry.day(), wall / 1_000_000.0, cpuTime);
+        }
+    }
+}
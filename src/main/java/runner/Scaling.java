@@ -0,0 +1,270 @@
+package runner;
+
+import generators.Generator;
+import generators.Generators;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import solvers.Registry;
+import solvers.Settings;
+import solvers.Solution;
+import solvers.Stage;
+import utils.Input;
+import utils.Output;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import static utils.JsonUtils.number;
+
+/**
+ * Measures how the time and allocation of solving each selected day grow with the size of its input, by solving
+ * {@linkplain Generator generated} inputs of doubling sizes from the generator's {@linkplain Generator#base() base size}.
+ * <p>
+ * The growth exponent k of each stage, as in O(size^k), is fitted by least squares on a log-log scale, and stages that
+ * grow more than {@code aoc.scaling.tolerance} (default 0.25) faster than {@linkplain Generator#expected(Stage)
+ * expected} are flagged. A day stops growing once a stage takes longer than {@code aoc.scaling.limit} ms (default
+ * 10000), and the fit projects the size at which each stage would reach that limit, so the days that will hit the wall
+ * first as inputs grow are listed first. The measurements (<code>scaling.csv</code>), the fits
+ * (<code>scaling-fit.csv</code>) and a log-log plot per day are written to the report directory.
+ */
+final class Scaling {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Scaling.class);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("aoc.scaling.tolerance", "0.25"));
+    private static final double LIMIT_MS = Long.getLong("aoc.scaling.limit", 10_000);
+    private static final double MINIMUM_MS = 1; // below this, timer resolution and JIT compilation dominate
+    private static final Color[] COLORS = {new Color(0x1f77b4), new Color(0xd62728), new Color(0x2ca02c)};
+
+    private final Settings settings;
+    private final int doublings;
+    private final Path directory;
+
+    Scaling(Settings settings, int doublings, Path directory) {
+        this.settings = settings.withCache(false);
+        this.doublings = doublings;
+        this.directory = directory;
+    }
+
+    int run(List<Registry.Entry> selected) throws IOException {
+        Output.render(false); // artifacts of generated inputs would only overwrite those of the real inputs
+        Files.createDirectories(directory);
+        var points = new ArrayList<Point>();
+        var fits = new ArrayList<Fit>();
+        for (Registry.Entry entry : selected) {
+            var generator = Generators.of(entry.year(), entry.day()).orElse(null);
+            if (generator == null || Double.isNaN(generator.expected(Stage.PART_ONE))) {
+                LOGGER.warn("Skipping {}, whose inputs do not scale.", entry);
+                continue;
+            }
+            var series = measure(entry, generator);
+            var stages = series.stream().map(Point::stage).distinct().sorted().toList();
+            var day = stages.stream()
+                    .map(stage -> Fit.of(entry, generator, stage, series.stream().filter(point -> point.stage() == stage).toList()))
+                    .toList();
+            plot(entry, generator, series, day);
+            fits.addAll(day);
+            points.addAll(series);
+        }
+        if (fits.isEmpty()) {
+            LOGGER.error("None of the selected days have inputs that scale.");
+            return Runner.USAGE;
+        }
+
+        fits.sort(Comparator.comparingDouble(Fit::wall));
+        LOGGER.info("Growth of each stage, from the first to hit {} ms as inputs grow:", number(LIMIT_MS, 0));
+        fits.forEach(fit -> LOGGER.info("{}", fit));
+        var flagged = fits.stream().filter(Fit::flagged).toList();
+        if (!flagged.isEmpty()) {
+            LOGGER.warn("{} stage{} grew faster than expected: {}.", flagged.size(), flagged.size() == 1 ? "" : "s",
+                    flagged.stream().map(fit -> "%d day %d %s".formatted(fit.entry().year(), fit.entry().day(), fit.stage())).toList());
+        }
+
+        var lines = new ArrayList<String>();
+        lines.add("year,day,stage,unit,size,p50_ms,allocated_bytes_per_run");
+        points.forEach(point -> lines.add(point.csv()));
+        Files.write(directory.resolve("scaling.csv"), lines);
+        lines.clear();
+        lines.add("year,day,stage,unit,expected_exponent,time_exponent,allocation_exponent,largest_size,largest_p50_ms,wall_size,flagged");
+        fits.forEach(fit -> lines.add(fit.csv()));
+        Files.write(directory.resolve("scaling-fit.csv"), lines);
+        LOGGER.info("Wrote scaling of {} stages to {}.", fits.size(), directory);
+        return Runner.OK;
+    }
+
+    // Solves a day at doubling sizes until the last doubling, a failure, or a stage taking longer than the limit.
+    private List<Point> measure(Registry.Entry entry, Generator generator) throws IOException {
+        var solver = entry.construct();
+        var series = new ArrayList<Point>();
+        var size = generator.base();
+        for (int i = 0; i < doublings; i++, size *= 2) {
+            var text = new StringWriter();
+            generator.generate(size, 0, text);
+            List<Solution<?>> solutions;
+            try {
+                solutions = solver.measure(settings, Input.of(text.toString()));
+            } catch (RuntimeException | AssertionError e) {
+                LOGGER.warn("{} failed at {} {}: {}", entry, size, generator.unit(), e.toString());
+                break;
+            }
+            var slowest = 0.0;
+            for (Solution<?> solution : solutions) {
+                var p50 = solution.statistics().p50();
+                series.add(new Point(entry, solution.stage(), generator.unit(), size, p50, solution.allocation().bytesPerRun()));
+                slowest = Math.max(slowest, p50);
+            }
+            LOGGER.info("{} at {} {}: {}", entry, size, generator.unit(), solutions.stream()
+                    .map(solution -> "%s %.03f ms".formatted(solution.stage(), solution.statistics().p50()))
+                    .toList());
+            if (slowest > LIMIT_MS) {
+                LOGGER.warn("{} hit the limit of {} ms at {} {}.", entry, number(LIMIT_MS, 0), size, generator.unit());
+                break;
+            }
+        }
+        return series;
+    }
+
+    // Fits y = c * x^k by least squares on log y = log c + k log x, returning k, or NaN given fewer than 2 points.
+    private static double exponent(double[] xs, double[] ys) {
+        int n = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = 0; i < xs.length; i++) {
+            if (!(xs[i] > 0 && ys[i] > 0)) continue;
+            double x = Math.log(xs[i]), y = Math.log(ys[i]);
+            n++;
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+        }
+        var denominator = n * sxx - sx * sx;
+        return n < 2 || denominator == 0 ? Double.NaN : (n * sxy - sx * sy) / denominator;
+    }
+
+    // Plots the median time of each stage of a day against the size, on log-log axes.
+    private void plot(Registry.Entry entry, Generator generator, List<Point> series, List<Fit> fits) throws IOException {
+        var timed = series.stream().filter(point -> point.p50() > 0).toList();
+        if (timed.size() < 2) return;
+        int width = 800, height = 500, left = 80, right = 20, top = 40, bottom = 60;
+        var xs = timed.stream().mapToDouble(point -> Math.log10(point.size())).summaryStatistics();
+        var ys = timed.stream().mapToDouble(point -> Math.log10(point.p50())).summaryStatistics();
+        double x0 = Math.floor(xs.getMin()), x1 = Math.max(Math.ceil(xs.getMax()), x0 + 1);
+        double y0 = Math.floor(ys.getMin()), y1 = Math.max(Math.ceil(ys.getMax()), y0 + 1);
+
+        var image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        var g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 12));
+
+        // Grid lines at every power of 10.
+        double plotWidth = width - left - right, plotHeight = height - top - bottom;
+        for (double x = x0; x <= x1; x++) {
+            var px = (int) (left + (x - x0) / (x1 - x0) * plotWidth);
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawLine(px, top, px, height - bottom);
+            g.setColor(Color.BLACK);
+            g.drawString("1e%d".formatted((int) x), px - 10, height - bottom + 16);
+        }
+        for (double y = y0; y <= y1; y++) {
+            var py = (int) (height - bottom - (y - y0) / (y1 - y0) * plotHeight);
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawLine(left, py, width - right, py);
+            g.setColor(Color.BLACK);
+            g.drawString("1e%d ms".formatted((int) y), 10, py + 4);
+        }
+        g.drawString("%d day %d: median time against size (%s)".formatted(entry.year(), entry.day(), generator.unit()), left, 24);
+        g.drawRect(left, top, (int) plotWidth, (int) plotHeight);
+
+        // One line per stage, labelled with its fitted exponent.
+        var stages = timed.stream().map(Point::stage).distinct().sorted().toList();
+        g.setStroke(new BasicStroke(2));
+        for (int i = 0; i < stages.size(); i++) {
+            var stage = stages.get(i);
+            var line = new Path2D.Double();
+            var points = timed.stream().filter(point -> point.stage() == stage).toList();
+            for (Point point : points) {
+                var px = left + (Math.log10(point.size()) - x0) / (x1 - x0) * plotWidth;
+                var py = height - bottom - (Math.log10(point.p50()) - y0) / (y1 - y0) * plotHeight;
+                if (line.getCurrentPoint() == null) line.moveTo(px, py);
+                else line.lineTo(px, py);
+                g.setColor(COLORS[i % COLORS.length]);
+                g.fillOval((int) px - 3, (int) py - 3, 7, 7);
+            }
+            g.draw(line);
+            var fit = fits.stream().filter(f -> f.stage() == stage).findFirst().orElseThrow();
+            g.drawString("%s: k = %s, expected %s".formatted(stage, Fit.power(fit.time()), Fit.power(fit.expected())),
+                    left + 10 + 220 * i, height - 20);
+        }
+        g.dispose();
+        try (var out = Files.newOutputStream(directory.resolve("scaling-%d-day%d.png".formatted(entry.year(), entry.day())))) {
+            ImageIO.write(image, "png", out);
+        }
+    }
+
+    /**
+     * One measurement of a stage at a size.
+     *
+     * @param bytes the bytes allocated per run, or -1 if the JVM does not measure allocation
+     */
+    private record Point(Registry.Entry entry, Stage stage, String unit, int size, double p50, long bytes) {
+        String csv() {
+            return String.join(",", String.valueOf(entry.year()), String.valueOf(entry.day()), stage.label(),
+                    unit, String.valueOf(size), number(p50, 6), String.valueOf(bytes));
+        }
+    }
+
+    /**
+     * The fitted growth of a stage.
+     *
+     * @param time       the exponent of the growth of the median time, fitted to the points that took at least 1 ms, or
+     *                   to all points if fewer than 2 did
+     * @param allocation the exponent of the growth of the bytes allocated per run
+     * @param wall       the size at which the stage is projected to take longer than the limit
+     */
+    private record Fit(Registry.Entry entry, Stage stage, String unit, double expected, double time, double allocation,
+                       Point largest, double wall) {
+        private static Fit of(Registry.Entry entry, Generator generator, Stage stage, List<Point> points) {
+            var timed = points.stream().filter(point -> point.p50() >= MINIMUM_MS).toList();
+            if (timed.size() < 2) timed = points;
+            var time = exponent(timed.stream().mapToDouble(Point::size).toArray(), timed.stream().mapToDouble(Point::p50).toArray());
+            var allocation = exponent(points.stream().mapToDouble(Point::size).toArray(), points.stream().mapToDouble(Point::bytes).toArray());
+            var largest = points.get(points.size() - 1);
+            var wall = largest.p50() >= LIMIT_MS ? largest.size()
+                    : time > 0 ? largest.size() * Math.pow(LIMIT_MS / largest.p50(), 1 / time) : Double.POSITIVE_INFINITY;
+            return new Fit(entry, stage, generator.unit(), generator.expected(stage), time, allocation, largest, wall);
+        }
+
+        private static String power(double exponent) {
+            return Double.isNaN(exponent) ? "?" : String.format(Locale.ROOT, "%.2f", exponent);
+        }
+
+        boolean flagged() {
+            return time > expected + TOLERANCE;
+        }
+
+        String csv() {
+            return String.join(",", String.valueOf(entry.year()), String.valueOf(entry.day()), stage.label(), unit,
+                    number(expected, 2), number(time, 3), number(allocation, 3), String.valueOf(largest.size()),
+                    number(largest.p50(), 6), Double.isInfinite(wall) ? "" : String.format(Locale.ROOT, "%.3g", wall),
+                    String.valueOf(flagged()));
+        }
+
+        @Override
+        public String toString() {
+            var projected = Double.isInfinite(wall) ? "never" : String.format(Locale.ROOT, "~%.3g %s", wall, unit);
+            return "%d day %d %s: time O(n^%s) (expected O(n^%s)), allocation O(n^%s); %.03f ms at %d %s, %s ms at %s%s".formatted(
+                    entry.year(), entry.day(), stage, power(time), power(expected), power(allocation),
+                    largest.p50(), largest.size(), unit, number(LIMIT_MS, 0), projected, flagged() ? " [WORSE THAN EXPECTED]" : "");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package runner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import solvers.Check;
+import solvers.Registry;
+import utils.Output;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the {@linkplain solvers.AOCDay#verify() checks} of the selected days, e.g. the examples from their puzzles,
+ * rather than solving their inputs, so that a change to a solver can be checked without paying for the checks on every
+ * solve.
+ * <p>
+ * Days are checked concurrently on a pool of threads, each day's checks in order on a single thread; the results are
+ * logged in year and day order once every day is done. Rendering is disabled, so that examples do not overwrite the
+ * artifacts of the real inputs.
+ */
+final class Verifier {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Verifier.class);
+
+    private final int threads;
+
+    Verifier(int threads) {
+        this.threads = threads;
+    }
+
+    int verify(List<Registry.Entry> selected) throws IOException {
+        Output.render(false);
+        var count = new AtomicInteger();
+        var pool = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "verify-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        var start = System.nanoTime();
+        try {
+            var futures = new ArrayList<Future<List<Check.Result>>>();
+            for (Registry.Entry entry : selected) {
+                futures.add(pool.submit(() -> entry.construct().verify()));
+            }
+            var checks = 0;
+            var failures = 0;
+            for (int i = 0; i < selected.size(); i++) {
+                var results = futures.get(i).get();
+                if (results.isEmpty()) LOGGER.info("{} has no checks.", selected.get(i));
+                for (Check.Result result : results) {
+                    if (result.passed()) LOGGER.info("{}", result);
+                    else LOGGER.error("{}", result);
+                    checks++;
+                    if (!result.passed()) failures++;
+                }
+            }
+            LOGGER.info("Verified {} check{} of {} day{} in {} ms: {} passed, {} failed.", checks, checks == 1 ? "" : "s",
+                    selected.size(), selected.size() == 1 ? "" : "s", (System.nanoTime() - start) / 1_000_000,
+                    checks - failures, failures);
+            Output.flush();
+            return failures == 0 ? Runner.OK : Runner.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while verifying.", e);
+        } catch (ExecutionException e) {
+            // checks record their own failures, so only constructing a solver can fail here
+            if (e.getCause() instanceof IOException io) throw io;
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
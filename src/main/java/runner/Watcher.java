@@ -0,0 +1,128 @@
+package runner;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import solvers.AOCDay;
+import solvers.Registry;
+import solvers.Settings;
+import solvers.Solution;
+import solvers.Stage;
+import utils.Input;
+import utils.Output;
+import utils.Regex;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static utils.RegexUtils.*;
+
+/**
+ * Watches the input directories of the selected days, e.g. <code>src/main/resources/input/2018</code>, and solves a
+ * day again whenever its input file changes, with the solver that was constructed for the first run, so the JVM stays
+ * warm across edits.
+ * <p>
+ * Editors and generators often write a file in several steps, so changes are only acted on once no further change has
+ * been seen for {@code aoc.watch.debounce} ms (default 200). Each run is logged with its timings relative to the
+ * previous run of the same day. The answer cache is bypassed, so that every run is timed, and artifacts are only
+ * rendered by the first run of each day, from its bundled input, so that edited inputs do not overwrite them.
+ * <p>
+ * Changed inputs are copied onto the heap rather than mapped, since an editor may truncate a file while it is being
+ * solved, which would crash a mapped read.
+ */
+final class Watcher {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Watcher.class);
+    private static final Regex INPUT = compile(BEGINNING_OF_LINE, "day", group(min(ANY_DIGIT, 1)), "\\.txt", END_OF_LINE);
+    private static final long DEBOUNCE = Long.getLong("aoc.watch.debounce", 200);
+
+    private final Path root;
+    private final Settings settings;
+    private final Map<Registry.Entry, AOCDay<?, ?>> solvers = new LinkedHashMap<>();
+    private final Map<Registry.Entry, List<Solution<?>>> previous = new HashMap<>();
+
+    /**
+     * @param root the directory holding a directory of inputs per year
+     */
+    Watcher(Path root, Settings settings) {
+        this.root = root;
+        this.settings = settings.withCache(false);
+    }
+
+    // Solves the selected days once, then again after each change to one of their inputs, until interrupted.
+    int watch(List<Registry.Entry> selected) throws IOException {
+        try (var service = root.getFileSystem().newWatchService()) {
+            var directories = new HashMap<WatchKey, Integer>();
+            for (int year : selected.stream().mapToInt(Registry.Entry::year).distinct().toArray()) {
+                var directory = root.resolve(String.valueOf(year));
+                if (!Files.isDirectory(directory)) {
+                    LOGGER.error("Input directory {} does not exist.", directory);
+                    return Runner.USAGE;
+                }
+                var key = directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                directories.put(key, year);
+            }
+            for (Registry.Entry entry : selected) {
+                var solver = entry.construct();
+                solvers.put(entry, solver);
+                solve(entry, null);
+            }
+            Output.render(false);
+            var watched = directories.keySet().stream().map(WatchKey::watchable).toList();
+            LOGGER.info("Watching {} for changes to the inputs of {} day{}.", watched, selected.size(), selected.size() == 1 ? "" : "s");
+
+            while (true) {
+                var changed = new LinkedHashSet<Registry.Entry>();
+                var key = service.take();
+                do {
+                    var year = directories.get(key);
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (!(event.context() instanceof Path file)) continue; // an overflow, which has no file
+                        INPUT.find(file.toString())
+                                .flatMap(match -> solvers.keySet().stream()
+                                        .filter(entry -> entry.year() == year && entry.day() == match.getInt(1))
+                                        .findFirst())
+                                .ifPresent(changed::add);
+                    }
+                    key.reset();
+                } while ((key = service.poll(DEBOUNCE, TimeUnit.MILLISECONDS)) != null);
+                for (Registry.Entry entry : changed) {
+                    solve(entry, root.resolve(String.valueOf(entry.year())).resolve("day%d.txt".formatted(entry.day())));
+                }
+                Output.flush();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Runner.OK;
+        }
+    }
+
+    // Solves a day, with its own input if the path is null, logging the timings relative to the previous run.
+    private void solve(Registry.Entry entry, Path path) {
+        var solver = solvers.get(entry);
+        List<Solution<?>> solutions;
+        try {
+            solutions = path == null ? solver.measure(settings) : solver.measure(settings, Input.of(Files.readAllBytes(path)));
+        } catch (IOException | RuntimeException | Error e) { // e.g. a StackOverflowError from a malformed input
+            LOGGER.error("Failed to solve {}: {}", entry, e.toString());
+            return;
+        }
+        var last = previous.put(entry, solutions);
+        for (Solution<?> solution : solutions) {
+            var before = last == null ? null : last.stream()
+                    .filter(other -> other.stage() == solution.stage())
+                    .findFirst()
+                    .orElse(null);
+            LOGGER.info("{}{}", solution, delta(solution, before));
+        }
+    }
+
+    private static String delta(Solution<?> current, Solution<?> before) {
+        if (before == null) return "";
+        var now = current.statistics().p50();
+        var then = before.statistics().p50();
+        var answer = current.stage() == Stage.PARSE || Objects.equals(current.answer(), before.answer())
+                ? "" : ", answer was %s".formatted(before.answer());
+        return " [p50 %+.03f ms (%+.01f%%) vs previous run%s]".formatted(now - then, (now / then - 1) * 100, answer);
+    }
+}
@@ -3,61 +3,310 @@ package solvers;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Logger;
 import utils.Benchmark;
+import utils.Budget;
+import utils.Heap;
+import utils.Input;
+import utils.Output;
+import utils.Pair;
+import utils.Tracer;
 
 import java.io.IOException;
+import java.lang.ref.Reference;
 import java.net.URISyntaxException;
-import java.nio.file.FileSystemNotFoundException;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-public abstract class AOCDay<R> {
+/**
+ * A solver for one day's puzzle. The input is parsed once by {@link #parse(List)}, and the parsed input is then handed
+ * to both parts, which must treat it as read-only: each part may be run several times, and concurrently with the other
+ * part if the parts are {@linkplain #independentParts() independent}.
+ *
+ * @param <P> the type of the parsed input
+ * @param <R> the type of the answers
+ */
+public abstract class AOCDay<P, R> {
     protected static final Logger LOGGER = (Logger) LogManager.getLogger(AOCDay.class);
-    protected final List<String> input;
-    private static final int RUNS = 1;
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    // The CPU time that part two of days measured from each thread spent on threads of their own, in ns.
+    private static final ThreadLocal<long[]> OFFLOADED = ThreadLocal.withInitial(() -> new long[1]);
+    private static ExecutorService parts = pool(Runtime.getRuntime().availableProcessors() - 1);
+    protected final Input input;
     private final int day, year;
+    private final String category;
+
+    // Returns a pool of at most the given number of threads for part two, which rejects tasks when every thread is busy
+    // rather than queueing them, or a pool that rejects every task if the number is 0.
+    private static ExecutorService pool(int threads) {
+        return new ThreadPoolExecutor(0, Math.max(1, threads), 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            var thread = new Thread(runnable, "part-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, threads == 0 ? (task, pool) -> {
+            throw new RejectedExecutionException();
+        } : new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static synchronized ExecutorService pool() {
+        return parts;
+    }
+
+    /**
+     * Bounds the threads that part two of days with {@linkplain #independentParts() independent parts} may run on, e.g.
+     * to the threads that {@code --threads} leaves over after solving days concurrently. Part two runs on the thread
+     * solving the day whenever none of these is free.
+     *
+     * @param threads the number of threads, or 0 to always run part two after part one
+     */
+    public static synchronized void partThreads(int threads) {
+        if (threads < 0) throw new IllegalArgumentException("Thread count (%d) is less than 0.".formatted(threads));
+        parts.shutdown();
+        parts = pool(threads);
+    }
+
+    // Returns the CPU time that part two of days measured from the current thread spent on threads of their own, in
+    // ns, which grows with every such day; the difference before and after a measurement is that day's share.
+    public static long offloadedCpuTime() {
+        return OFFLOADED.get()[0];
+    }
 
     public AOCDay(int day, int year) throws IOException, URISyntaxException {
         this.day = day;
         this.year = year;
+        this.category = "%d day %d".formatted(year, day);
+
+        this.input = Input.resource(getClass(), "/input/%d/day%d.txt".formatted(year, day));
+    }
+
+    public List<Solution<?>> solve() throws IOException {
+        return solve(Settings.defaults());
+    }
+
+    public List<Solution<?>> solve(Settings settings) throws IOException {
+        var solutions = measure(settings);
+        solutions.forEach(solution -> LOGGER.info("{}", solution));
+        Output.flush();
+        return solutions;
+    }
 
-        var url = Objects.requireNonNull(getClass().getResource("/input/%d/day%d.txt".formatted(year, day)));
-        var uri = url.toURI();
+    // Parses the input, then solves and benchmarks the selected parts and writes their answers without logging them, so
+    // that a caller running several days at once can log the solutions in a deterministic order. Parts whose answers are
+    // cached are not solved, and if every selected part is cached, the input is not parsed either.
+    public List<Solution<?>> measure(Settings settings) throws IOException {
+        return measure(settings, input);
+    }
+
+    // Like measure(Settings), but solves another input, e.g. an edited or generated one, with this solver. Answers to
+    // other inputs are not written to the output file, which holds the answers to the solver's own input.
+    public List<Solution<?>> measure(Settings settings, Input input) throws IOException {
+        var cache = AnswerCache.defaults();
+        var cached = new ArrayList<Solution<?>>();
+        var stages = EnumSet.noneOf(Stage.class);
+        for (Stage stage : List.of(Stage.PART_ONE, Stage.PART_TWO)) {
+            if (!settings.stages().contains(stage)) continue;
+            var answer = settings.cache() ? cache.get(this, stage, input) : Optional.<String>empty();
+            if (answer.isPresent()) cached.add(Solution.cached(year, day, stage, answer.get()));
+            else stages.add(stage);
+        }
+        if (stages.isEmpty()) {
+            if (input == this.input) write(cached);
+            return cached;
+        }
+
+        var solutions = new ArrayList<Solution<?>>();
+        var parse = Benchmark.of(input, this::tracedParse);
+        for (int i = 0; i < settings.warmups(); i++) {
+            parse.warmup();
+        }
+        // Parsed inputs need not implement equals, so unlike the parts, only the result of the first run is kept.
+        var parsed = parse.run();
+        for (int i = 1; i < settings.runs(); i++) {
+            parse.run();
+        }
+        solutions.add(new Solution<>(year, day, Stage.PARSE, "%d lines".formatted(input.size()), parse.statistics(), parse.allocation()));
+
+        var parts = new ArrayList<Solution<?>>(cached);
+        if (stages.contains(Stage.PART_ONE) && stages.contains(Stage.PART_TWO) && independentParts()) {
+            // Part two runs on its own thread if one is free, so each part is timed and its allocations counted on the
+            // thread running it; otherwise, both parts run on this thread, one after the other.
+            CompletableFuture<Pair<Solution<?>, Long>> partTwo = null;
+            try {
+                partTwo = CompletableFuture.supplyAsync(() -> {
+                    var cpu = Benchmark.cpuTime();
+                    var solution = measure(Stage.PART_TWO, parsed, settings);
+                    return Pair.of(solution, cpu < 0 ? 0 : Benchmark.cpuTime() - cpu);
+                }, pool());
+            } catch (RejectedExecutionException e) {
+                // every part thread is busy
+            }
+            parts.add(measure(Stage.PART_ONE, parsed, settings));
+            if (partTwo == null) {
+                parts.add(measure(Stage.PART_TWO, parsed, settings));
+            } else {
+                try {
+                    var solved = partTwo.join();
+                    parts.add(solved.left());
+                    OFFLOADED.get()[0] += solved.right();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+                    if (e.getCause() instanceof Error error) throw error;
+                    throw e;
+                }
+            }
+        } else {
+            if (stages.contains(Stage.PART_ONE)) parts.add(measure(Stage.PART_ONE, parsed, settings));
+            if (stages.contains(Stage.PART_TWO)) parts.add(measure(Stage.PART_TWO, parsed, settings));
+        }
+        if (settings.cache()) {
+            parts.stream().filter(part -> !part.cached() && !part.timedOut()).forEach(part -> cache.put(this, part.stage(), input, part.answer()));
+        }
+        parts.sort(Comparator.comparing(Solution::stage));
+        if (input == this.input) write(parts);
+        solutions.addAll(parts);
+        return solutions;
+    }
+
+    // Solves and benchmarks a part, giving each run the time budget of the settings; a part that exceeds it is not run
+    // again, and has the timeout as its solution.
+    private Solution<?> measure(Stage stage, P parsed, Settings settings) {
+        Function<P, R> part = stage == Stage.PART_ONE ? this::tracedPartOne : this::tracedPartTwo;
+        var budget = settings.budget();
+        var benchmark = Benchmark.of(parsed, budget == 0 ? part : in -> Budget.call(budget, () -> part.apply(in)));
         try {
-            FileSystems.getFileSystem(uri);
-        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
-            Map<String, String> env = new HashMap<>();
-            env.put("create", "true");
+            return Solution.of(year, day, stage, benchmark.run(settings.warmups(), settings.runs()));
+        } catch (Budget.Exceeded e) {
+            return Solution.timedOut(year, day, stage, e);
+        }
+    }
+
+    /**
+     * Measures the heap that the parsed input retains, and the peak heap while solving each selected part of it, once
+     * each and without consulting the answer cache. Days should be measured one at a time; see {@link Heap}.
+     */
+    public Footprint footprint(Settings settings) {
+        // The parsed input is measured by how much less heap is retained once it is released, rather than by how much
+        // more once it is parsed, so that what the first parse loads and keeps for good, e.g. the static state of the
+        // solver's classes, is not counted as part of the parsed input.
+        Heap.retained(); // first collects what earlier work left behind, e.g. the previous day's solver
+        var holder = new AtomicReference<P>(parse(input));
+        var with = Heap.retained();
+        holder.set(null);
+        var retained = with - Heap.retained();
+        var parsed = parse(input);
+        var parts = new EnumMap<Stage, Footprint.Part>(Stage.class);
+        for (Stage stage : List.of(Stage.PART_ONE, Stage.PART_TWO)) {
+            if (!settings.stages().contains(stage)) continue;
+            var base = Heap.retained();
+            Heap.resetPeak();
+            var timedOut = false;
             try {
-                FileSystems.newFileSystem(uri, env);
-            } catch (IllegalArgumentException f) {
-                FileSystems.getDefault();
+                Budget.call(settings.budget(), () -> stage == Stage.PART_ONE ? solvePartOne(parsed) : solvePartTwo(parsed));
+            } catch (Budget.Exceeded e) {
+                timedOut = true;
             }
+            parts.put(stage, new Footprint.Part(Math.max(0, Heap.peak() - base), timedOut));
         }
-        final var path = Path.of(uri);
-        this.input = Files.readAllLines(path);
+        Reference.reachabilityFence(parsed); // keeps the parsed input from being collected while the parts are measured
+        return new Footprint(year, day, input.bytes().remaining(), retained, parts);
+    }
+
+    /**
+     * Runs the {@linkplain #checks() checks} of this solver, e.g. for <code>--verify</code>. Checks are kept out of the
+     * constructor and the parts, so that solving never pays for them.
+     *
+     * @return the result of each check, in order
+     */
+    public List<Check.Result> verify() {
+        return checks().stream().map(Check::run).toList();
+    }
+
+    // The checks of this solver, typically the examples from the puzzle with their answers; none by default.
+    protected List<Check> checks() {
+        return List.of();
     }
 
-    public void solve() throws IOException {
-        var partOneBenchmark = Benchmark.of(input, this::solvePartOne);
-        var partOneResults = partOneBenchmark.run(RUNS);
-        LOGGER.info("Advent of Code {}, day {}, part 1 -> {} (took %.03f ms)".formatted(partOneResults.right()), year, day, partOneResults.left());
+    // Returns a check that parses an example input, e.g. from the puzzle, and solves a part of it.
+    protected Check example(Stage stage, String input, Object expected) {
+        if (stage == Stage.PARSE) throw new IllegalArgumentException("Examples check parts, not parsing.");
+        var lines = Input.of(input);
+        var name = "%s day %d %s, example %s".formatted(year, day, stage, lines.isEmpty() ? "(empty)" : lines.get(0).strip());
+        return Check.of(name.length() > 80 ? name.substring(0, 77) + "..." : name, expected, () -> {
+            var parsed = parse(lines);
+            return stage == Stage.PART_ONE ? solvePartOne(parsed) : solvePartTwo(parsed);
+        });
+    }
 
-        var partTwoBenchmark = Benchmark.of(input, this::solvePartTwo);
-        var partTwoResults = partTwoBenchmark.run(RUNS);
-        LOGGER.info("Advent of Code {}, day {}, part 2 -> {} (took %.03f ms)".formatted(partTwoResults.right()), year, day, partTwoResults.left());
+    // Whether part two can run concurrently with part one, i.e. neither part mutates state that the other reads.
+    protected boolean independentParts() {
+        return false;
+    }
 
+    // Queues the answers to be written to the output file, one line per part, keeping the answers of any parts that
+    // were not solved or timed out; see Output.
+    private void write(List<Solution<?>> solutions) {
         var path = Path.of("src/main/resources/output/%d/day%d.txt".formatted(year, day));
-        Files.deleteIfExists(path);
-        Files.createFile(path);
-        Files.write(path, List.of(partOneResults.left().toString(), partTwoResults.left().toString()));
+        var answers = solutions.stream()
+                .filter(solution -> !solution.timedOut())
+                .map(solution -> Pair.of(solution.stage(), solution.answer().toString()))
+                .toList();
+        Output.submit(path.toString(), () -> {
+            var lines = new ArrayList<>(List.of("", ""));
+            if (Files.exists(path)) {
+                var existing = Files.readAllLines(path);
+                for (int i = 0; i < Math.min(existing.size(), lines.size()); i++) {
+                    lines.set(i, existing.get(i));
+                }
+            }
+            for (Pair<Stage, String> answer : answers) {
+                lines.set(answer.left() == Stage.PART_ONE ? 0 : 1, answer.right());
+            }
+            Files.write(path, lines);
+        });
+    }
+
+    public int year() {
+        return year;
     }
 
-    protected abstract R solvePartOne(List<String> input);
+    public int day() {
+        return day;
+    }
+
+    private P tracedParse(List<String> input) {
+        return traced("parse", () -> parse(input));
+    }
+
+    private R tracedPartOne(P input) {
+        return traced("part 1", () -> solvePartOne(input));
+    }
+
+    private R tracedPartTwo(P input) {
+        return traced("part 2", () -> solvePartTwo(input));
+    }
+
+    // Runs a phase of this solver, e.g. "build" or "simulate", within a tracing span; see Tracer.
+    protected <T> T traced(String phase, Supplier<T> task) {
+        return Tracer.trace(category, phase, task);
+    }
+
+    protected void traced(String phase, Runnable task) {
+        Tracer.trace(category, phase, task);
+    }
+
+    protected abstract P parse(List<String> input);
+
+    protected abstract R solvePartOne(P input);
 
-    protected abstract R solvePartTwo(List<String> input);
+    protected abstract R solvePartTwo(P input);
 }
@@ -0,0 +1,209 @@
+package solvers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import utils.Input;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of answers, so that a day whose solver and input are both unchanged is not solved again.
+ * <p>
+ * Answers are keyed by year, day, part, a fingerprint of the solver and the SHA-256 digest of the input. The fingerprint
+ * is the SHA-256 digest of the bytecode of the solver class, its nested classes, the classes of its own package if
+ * it has one, e.g. <code>solvers.aoc2018.day15</code>, and the code that every solver shares: the classes of the
+ * <code>solvers</code> package itself, e.g. {@link AOCDay}, and of <code>utils</code>. Editing any of them invalidates
+ * the answers, though editing shared code invalidates those of every day.
+ * <p>
+ * Each answer is a file in the cache directory. Once the files exceed the capacity of the cache, the least recently
+ * used are evicted.
+ */
+public final class AnswerCache {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(AnswerCache.class);
+    private static final String SUFFIX = ".answer";
+    private static final Map<Class<?>, String> FINGERPRINTS = new ConcurrentHashMap<>();
+    private static String shared = null; // the fingerprint of the code every solver shares, once computed
+    private static final AnswerCache DEFAULT = new AnswerCache(
+            Path.of(System.getProperty("aoc.cache.dir", ".aoc-cache")),
+            Long.getLong("aoc.cache.size", 1 << 20));
+
+    private final Path directory;
+    private final long capacity;
+
+    /**
+     * @param directory the directory to keep answers in, created when the first answer is stored
+     * @param capacity  the total size of the answer files to evict down to, in bytes
+     */
+    public AnswerCache(Path directory, long capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity (%d) is less than 0.".formatted(capacity));
+        this.directory = directory;
+        this.capacity = capacity;
+    }
+
+    // Returns the cache given by the aoc.cache.dir and aoc.cache.size system properties, falling back to 1 MB in .aoc-cache.
+    public static AnswerCache defaults() {
+        return DEFAULT;
+    }
+
+    private static String sha256(byte[]... chunks) {
+        try {
+            var sha = MessageDigest.getInstance("SHA-256");
+            for (byte[] chunk : chunks) {
+                sha.update(chunk);
+            }
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 is not supported.", e);
+        }
+    }
+
+    // Returns the fingerprint of a solver's bytecode and of the code it shares with other solvers, computed once per class.
+    static String fingerprint(AOCDay<?, ?> solver) throws IOException {
+        try {
+            return FINGERPRINTS.computeIfAbsent(solver.getClass(), type -> {
+                try {
+                    return sha256(fingerprint(type, solver.day()).getBytes(StandardCharsets.UTF_8),
+                            shared().getBytes(StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (URISyntaxException e) {
+                    throw new UncheckedIOException(new IOException(e));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Returns the fingerprint of the classes directly in the solvers package, which excludes the solvers of each year,
+    // and of every class in utils and its subpackages.
+    private static synchronized String shared() throws IOException, URISyntaxException {
+        if (shared != null) return shared;
+        var solvers = Input.path(AOCDay.class, AOCDay.class.getSimpleName() + ".class").getParent();
+        var utils = Input.path(Input.class, Input.class.getSimpleName() + ".class").getParent();
+        var classes = new TreeMap<String, Path>();
+        try (var files = Files.list(solvers)) {
+            files.filter(file -> file.toString().endsWith(".class"))
+                    .forEach(file -> classes.put("solvers/" + file.getFileName(), file));
+        }
+        try (var files = Files.walk(utils)) {
+            files.filter(file -> file.toString().endsWith(".class"))
+                    .forEach(file -> classes.put("utils/" + utils.relativize(file), file));
+        }
+        return shared = digest(classes);
+    }
+
+    private static String fingerprint(Class<?> type, int day) throws IOException, URISyntaxException {
+        var name = type.getSimpleName();
+        var directory = Input.path(type, name + ".class").getParent();
+        var classes = new TreeMap<String, Path>(); // sorted, so that the order of the directory listing does not matter
+        // A solver in a package of its own, e.g. solvers.aoc2018.day15, shares it only with its helper classes.
+        var own = type.getPackageName().endsWith(".day" + day) ? directory : directory.resolve("day" + day);
+        if (own != directory) {
+            try (var files = Files.list(directory)) {
+                files.filter(file -> {
+                    var fileName = file.getFileName().toString();
+                    return fileName.equals(name + ".class") || fileName.startsWith(name + "$");
+                }).forEach(file -> classes.put(file.getFileName().toString(), file));
+            }
+        }
+        if (Files.isDirectory(own)) {
+            try (var files = Files.walk(own)) {
+                files.filter(file -> file.toString().endsWith(".class"))
+                        .forEach(file -> classes.put(directory.relativize(file).toString(), file));
+            }
+        }
+        return digest(classes);
+    }
+
+    // Returns the digest of the names and the contents of some class files.
+    private static String digest(SortedMap<String, Path> classes) throws IOException {
+        var chunks = new ArrayList<byte[]>();
+        for (Map.Entry<String, Path> entry : classes.entrySet()) {
+            chunks.add(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            chunks.add(Files.readAllBytes(entry.getValue()));
+        }
+        return sha256(chunks.toArray(byte[][]::new));
+    }
+
+    private static String key(AOCDay<?, ?> solver, Stage stage, Input input) throws IOException {
+        return "%d/%d/%s/%s/%s".formatted(solver.year(), solver.day(), stage.label(), fingerprint(solver), input.digest());
+    }
+
+    private Path file(String key) {
+        return directory.resolve(sha256(key.getBytes(StandardCharsets.UTF_8)) + SUFFIX);
+    }
+
+    /**
+     * Looks up the answer to a part of a solver's puzzle for an input, marking it as recently used.
+     * The cache is best-effort: if it cannot be read, the answer is treated as missing.
+     *
+     * @return the answer as it was stored, i.e. its string form, or an empty optional if it is not cached
+     */
+    public Optional<String> get(AOCDay<?, ?> solver, Stage stage, Input input) {
+        try {
+            var key = key(solver, stage, input);
+            var file = file(key);
+            if (!Files.exists(file)) return Optional.empty();
+            var content = Files.readString(file);
+            var separator = content.indexOf('\n');
+            // The file is named by the digest of its key, so a different key would mean a collision or a corrupt file.
+            if (separator < 0 || !content.substring(0, separator).equals(key)) return Optional.empty();
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return Optional.of(content.substring(separator + 1));
+        } catch (IOException e) {
+            LOGGER.warn("Could not read {} day {} {} from the answer cache: {}", solver.year(), solver.day(), stage, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    // Stores the answer to a part of a solver's puzzle for an input, then evicts answers beyond the capacity.
+    public synchronized void put(AOCDay<?, ?> solver, Stage stage, Input input, Object answer) {
+        try {
+            var key = key(solver, stage, input);
+            Files.createDirectories(directory);
+            // Written to a temporary file first, so that a concurrent reader never sees half an answer.
+            var temporary = Files.createTempFile(directory, "answer", ".tmp");
+            Files.writeString(temporary, key + "\n" + answer);
+            Files.move(temporary, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            evict();
+        } catch (IOException e) {
+            LOGGER.warn("Could not write {} day {} {} to the answer cache: {}", solver.year(), solver.day(), stage, e.toString());
+        }
+    }
+
+    // Deletes the least recently used answers until the answers that remain fit in the capacity.
+    private void evict() throws IOException {
+        record Answer(Path file, long size, FileTime used) {
+        }
+        var answers = new ArrayList<Answer>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(SUFFIX)) continue;
+                try {
+                    answers.add(new Answer(file, Files.size(file), Files.getLastModifiedTime(file)));
+                } catch (NoSuchFileException e) {
+                    // evicted by another process in the meantime
+                }
+            }
+        }
+        var total = answers.stream().mapToLong(Answer::size).sum();
+        answers.sort(Comparator.comparing(Answer::used));
+        for (Iterator<Answer> it = answers.iterator(); it.hasNext() && total > capacity; ) {
+            var answer = it.next();
+            Files.deleteIfExists(answer.file());
+            total -= answer.size();
+        }
+    }
+}
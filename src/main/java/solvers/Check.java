@@ -0,0 +1,51 @@
+package solvers;
+
+import java.util.function.Supplier;
+
+/**
+ * A computation with a known answer that {@link AOCDay#verify()} checks a solver against, such as an example from the
+ * puzzle with the answer to one of its parts (see {@link AOCDay#example(Stage, String, Object)}), or a helper method
+ * applied to the arguments of an example. Answers are compared by their string forms, so an expected
+ * <code>29</code> matches an answer of <code>29L</code> or <code>"29"</code>.
+ *
+ * @param name     what is being checked, for reporting
+ * @param expected the known answer
+ * @param actual   computes the answer to check
+ */
+public record Check(String name, Object expected, Supplier<?> actual) {
+    public static Check of(String name, Object expected, Supplier<?> actual) {
+        return new Check(name, expected, actual);
+    }
+
+    // Computes the answer, recording rather than throwing any failure, so that one failing check does not stop the rest.
+    public Result run() {
+        var start = System.nanoTime();
+        try {
+            var answer = actual.get();
+            return new Result(this, answer, null, System.nanoTime() - start);
+        } catch (RuntimeException | AssertionError e) {
+            return new Result(this, null, e, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The outcome of running a check.
+     *
+     * @param actual  the answer computed, or null if computing it failed
+     * @param failure what went wrong while computing the answer, or null if nothing did
+     * @param time    the time to compute the answer, in ns
+     */
+    public record Result(Check check, Object actual, Throwable failure, long time) {
+        public boolean passed() {
+            return failure == null && String.valueOf(check.expected()).equals(String.valueOf(actual));
+        }
+
+        @Override
+        public String toString() {
+            var outcome = passed() ? "passed"
+                    : failure != null ? "FAILED with %s".formatted(failure)
+                    : "FAILED: expected %s, but got %s".formatted(check.expected(), actual);
+            return "%s: %s (%.03f ms)".formatted(check.name(), outcome, time / 1_000_000.0);
+        }
+    }
+}
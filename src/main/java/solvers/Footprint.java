@@ -0,0 +1,48 @@
+package solvers;
+
+import utils.Heap;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * How much heap a day's solver holds, as measured by {@link AOCDay#footprint(Settings)}.
+ *
+ * @param input    the size of the input file, in bytes
+ * @param retained the heap retained by the parsed input, in bytes
+ * @param parts    the footprint of each part that was solved
+ */
+public record Footprint(int year, int day, long input, long retained, Map<Stage, Part> parts) {
+    public Footprint {
+        parts = Map.copyOf(parts);
+    }
+
+    // Returns the heap retained by the parsed input per byte of the input file, e.g. 8.0 for 8 bytes per byte.
+    public double expansion() {
+        return input == 0 ? Double.NaN : (double) retained / input;
+    }
+
+    @Override
+    public String toString() {
+        var solved = parts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(part -> "%s %s".formatted(part.getKey(), part.getValue()))
+                .collect(Collectors.joining(", "));
+        return "%d day %d: parsed input retains %s (%.01fx the %s input)%s".formatted(year, day, Heap.format(retained),
+                expansion(), Heap.format(input), solved.isEmpty() ? "" : "; " + solved);
+    }
+
+    /**
+     * The heap used while solving a part, beyond the heap retained by the parsed input.
+     *
+     * @param peak     the most heap held at once, garbage included, in bytes
+     * @param timedOut whether the part exceeded its {@linkplain Settings#budget() budget}, so that the peak is only as
+     *                 high as the part got
+     */
+    public record Part(long peak, boolean timedOut) {
+        @Override
+        public String toString() {
+            return "peaks at +%s%s".formatted(Heap.format(peak), timedOut ? " (timed out)" : "");
+        }
+    }
+}
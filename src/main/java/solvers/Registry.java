@@ -0,0 +1,118 @@
+package solvers;
+
+import utils.Regex;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.IntPredicate;
+
+import static utils.RegexUtils.*;
+
+/**
+ * The index of every solver, read from the <code>META-INF/services/solvers.AOCDay</code> provider files on the classpath.
+ * <p>
+ * Only class names are read, so no solver class is loaded until {@link Entry#construct()} is called for it.
+ * The year and day of a solver are taken from its class name, e.g. <code>AOC2018Day15</code>.
+ */
+public final class Registry {
+    private static final String SERVICES = "META-INF/services/" + AOCDay.class.getName();
+    private static final Regex CLASS_NAME = compile(
+            "AOC", group(repeat(ANY_DIGIT, 4, 4)), "Day", group(min(ANY_DIGIT, 1)), END_OF_LINE);
+
+    private final NavigableMap<Integer, NavigableMap<Integer, Entry>> entries;
+
+    private Registry(NavigableMap<Integer, NavigableMap<Integer, Entry>> entries) {
+        this.entries = entries;
+    }
+
+    public static Registry load() throws IOException {
+        return load(Thread.currentThread().getContextClassLoader());
+    }
+
+    public static Registry load(ClassLoader loader) throws IOException {
+        var entries = new TreeMap<Integer, NavigableMap<Integer, Entry>>();
+        var resources = loader.getResources(SERVICES);
+        while (resources.hasMoreElements()) {
+            var url = resources.nextElement();
+            try (var reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                for (String line; (line = reader.readLine()) != null; ) {
+                    var comment = line.indexOf('#');
+                    var className = (comment < 0 ? line : line.substring(0, comment)).strip();
+                    if (className.isEmpty()) continue;
+                    var entry = Entry.of(className, loader);
+                    var previous = entries.computeIfAbsent(entry.year(), y -> new TreeMap<>()).putIfAbsent(entry.day(), entry);
+                    if (previous != null && !previous.className().equals(className)) {
+                        throw new IllegalStateException("Duplicate solvers for %d day %d: %s and %s."
+                                .formatted(entry.year(), entry.day(), previous.className(), className));
+                    }
+                }
+            }
+        }
+        return new Registry(entries);
+    }
+
+    public Optional<Entry> get(int year, int day) {
+        return Optional.ofNullable(entries.getOrDefault(year, Collections.emptyNavigableMap()).get(day));
+    }
+
+    // Returns the solvers matching the year and day filters, ordered by year, then by day.
+    public List<Entry> select(IntPredicate years, IntPredicate days) {
+        var selected = new ArrayList<Entry>();
+        entries.forEach((year, byDay) -> {
+            if (!years.test(year)) return;
+            byDay.forEach((day, entry) -> {
+                if (days.test(day)) selected.add(entry);
+            });
+        });
+        return selected;
+    }
+
+    public List<Entry> all() {
+        return select(year -> true, day -> true);
+    }
+
+    public record Entry(int year, int day, String className, ClassLoader loader) {
+        private static Entry of(String className, ClassLoader loader) {
+            var simpleName = className.substring(className.lastIndexOf('.') + 1);
+            var match = CLASS_NAME.find(simpleName).orElseThrow(() -> new IllegalArgumentException(
+                    "Solver class name '%s' does not follow AOC<year>Day<day>.".formatted(className)));
+            return new Entry(match.getInt(1), match.getInt(2), className, loader);
+        }
+
+        // Returns the name of the logger that is an ancestor of the loggers of the solver's classes: its package if it
+        // has a package of its own, e.g. solvers.aoc2018.day15, or else its class.
+        public String loggerName() {
+            var separator = className.lastIndexOf('.');
+            var packageName = separator < 0 ? "" : className.substring(0, separator);
+            return packageName.endsWith(".day" + day) ? packageName : className;
+        }
+
+        // Loads and constructs the solver, which reads its input.
+        public AOCDay<?, ?> construct() throws IOException {
+            try {
+                return Class.forName(className, true, loader)
+                        .asSubclass(AOCDay.class)
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+                if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+                if (e.getCause() instanceof Error error) throw error;
+                throw new IllegalStateException("Failed to construct %s.".formatted(className), e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to construct %s.".formatted(className), e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "%d day %d (%s)".formatted(year, day, className);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package solvers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static utils.JsonUtils.number;
+import static utils.JsonUtils.quote;
+
+/**
+ * A machine-readable report of solutions, written as <code>report.json</code> and <code>report.csv</code>.
+ * <p>
+ * The CSV of an earlier run doubles as a baseline: {@link #compare(Path, double)} flags each stage whose median time
+ * or allocation per run grew by more than a threshold relative to it.
+ */
+public final class Report {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Report.class);
+    private static final List<String> HEADER = List.of("year", "day", "stage", "answer",
+            "runs", "warmups", "mean_ms", "stddev_ms", "ci_ms", "min_ms", "p50_ms", "p90_ms", "p99_ms", "max_ms",
+            "allocated_bytes_per_run", "gc_count", "gc_ms");
+    private static final double MINIMUM_DELTA_MS = 0.5; // timing differences below this are treated as noise
+
+    private final List<Solution<?>> solutions = new ArrayList<>();
+
+    private static String key(int year, int day, String stage) {
+        return "%d/%d/%s".formatted(year, day, stage);
+    }
+
+    private static String csv(String field) {
+        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+
+    private static List<String> csv(List<String> fields) {
+        return fields.stream().map(Report::csv).toList();
+    }
+
+    // Splits a CSV line into its fields, unescaping quoted fields.
+    private static List<String> parseCsv(String line) {
+        var fields = new ArrayList<String>();
+        var sb = new StringBuilder();
+        var quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        fields.add(sb.toString());
+        return fields;
+    }
+
+    public void add(Collection<? extends Solution<?>> solutions) {
+        this.solutions.addAll(solutions);
+    }
+
+    public List<Solution<?>> solutions() {
+        return Collections.unmodifiableList(solutions);
+    }
+
+    // Writes report.json and report.csv into a directory, creating it if necessary.
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("report.json"), toJson());
+        Files.write(directory.resolve("report.csv"), toCsv());
+        LOGGER.info("Wrote report of {} solutions to {}.", solutions.size(), directory);
+    }
+
+    private String toJson() {
+        var sb = new StringBuilder("[");
+        for (int i = 0; i < solutions.size(); i++) {
+            var solution = solutions.get(i);
+            var stats = solution.statistics();
+            var allocation = solution.allocation();
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("  {\"year\": ").append(solution.year())
+                    .append(", \"day\": ").append(solution.day())
+                    .append(", \"stage\": ").append(quote(solution.stage().label()))
+                    .append(", \"answer\": ").append(quote(String.valueOf(solution.answer())))
+                    .append(",\n   \"timing\": {\"runs\": ").append(stats.runs())
+                    .append(", \"warmups\": ").append(stats.warmups())
+                    .append(", \"mean_ms\": ").append(number(stats.mean(), 6))
+                    .append(", \"stddev_ms\": ").append(number(stats.stddev(), 6))
+                    .append(", \"ci_ms\": ").append(number(stats.ci(), 6))
+                    .append(", \"min_ms\": ").append(number(stats.min(), 6))
+                    .append(", \"p50_ms\": ").append(number(stats.p50(), 6))
+                    .append(", \"p90_ms\": ").append(number(stats.p90(), 6))
+                    .append(", \"p99_ms\": ").append(number(stats.p99(), 6))
+                    .append(", \"max_ms\": ").append(number(stats.max(), 6))
+                    .append("},\n   \"allocation\": {\"bytes_per_run\": ").append(allocation.bytesPerRun())
+                    .append(", \"gc_count\": ").append(allocation.gcCount())
+                    .append(", \"gc_ms\": ").append(allocation.gcTime())
+                    .append("}}");
+        }
+        return sb.append("\n]\n").toString();
+    }
+
+    private List<String> toCsv() {
+        var lines = new ArrayList<String>();
+        lines.add(String.join(",", HEADER));
+        for (Solution<?> solution : solutions) {
+            var stats = solution.statistics();
+            var allocation = solution.allocation();
+            var fields = List.of(String.valueOf(solution.year()), String.valueOf(solution.day()),
+                    solution.stage().label(), String.valueOf(solution.answer()),
+                    String.valueOf(stats.runs()), String.valueOf(stats.warmups()),
+                    number(stats.mean(), 6), number(stats.stddev(), 6), number(stats.ci(), 6),
+                    number(stats.min(), 6), number(stats.p50(), 6), number(stats.p90(), 6),
+                    number(stats.p99(), 6), number(stats.max(), 6),
+                    String.valueOf(allocation.bytesPerRun()), String.valueOf(allocation.gcCount()),
+                    String.valueOf(allocation.gcTime()));
+            lines.add(String.join(",", csv(fields)));
+        }
+        return lines;
+    }
+
+    /**
+     * Compares this report against the <code>report.csv</code> of an earlier run, logging every regression found.
+     *
+     * @param baseline  the CSV report to compare against
+     * @param threshold the relative increase that counts as a regression, e.g. 0.1 for 10%
+     * @return the regressions found, which is empty if no stage regressed
+     */
+    public List<Regression> compare(Path baseline, double threshold) throws IOException {
+        if (threshold < 0) throw new IllegalArgumentException("Threshold (%f) is less than 0.".formatted(threshold));
+        var lines = Files.readAllLines(baseline);
+        if (lines.isEmpty()) throw new IOException("Baseline %s is empty.".formatted(baseline));
+        var header = parseCsv(lines.get(0));
+        int year = header.indexOf("year"), day = header.indexOf("day"), stage = header.indexOf("stage");
+        int p50 = header.indexOf("p50_ms"), bytes = header.indexOf("allocated_bytes_per_run");
+        if (year < 0 || day < 0 || stage < 0 || p50 < 0 || bytes < 0) {
+            throw new IOException("Baseline %s is missing required columns: %s.".formatted(baseline, header));
+        }
+        var rows = new HashMap<String, List<String>>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            var row = parseCsv(line);
+            rows.put(key(Integer.parseInt(row.get(year)), Integer.parseInt(row.get(day)), row.get(stage)), row);
+        }
+
+        var regressions = new ArrayList<Regression>();
+        for (Solution<?> solution : solutions) {
+            var row = rows.get(key(solution.year(), solution.day(), solution.stage().label()));
+            // cached answers were not timed, and timed-out parts did not finish
+            if (row == null || solution.cached() || solution.timedOut() || row.get(p50).equals("null")) continue;
+            var baselineTime = Double.parseDouble(row.get(p50));
+            var currentTime = solution.statistics().p50();
+            if (currentTime > baselineTime * (1 + threshold) && currentTime - baselineTime > MINIMUM_DELTA_MS) {
+                regressions.add(new Regression(solution.year(), solution.day(), solution.stage(), "p50_ms", baselineTime, currentTime));
+            }
+            var baselineBytes = Long.parseLong(row.get(bytes));
+            var currentBytes = solution.allocation().bytesPerRun();
+            if (baselineBytes >= 0 && currentBytes >= 0 && currentBytes > baselineBytes * (1 + threshold)) {
+                regressions.add(new Regression(solution.year(), solution.day(), solution.stage(), "allocated_bytes_per_run", baselineBytes, currentBytes));
+            }
+        }
+        regressions.forEach(regression -> LOGGER.error("Regression: {}", regression));
+        if (regressions.isEmpty()) LOGGER.info("No regressions beyond {}% against {}.", threshold * 100, baseline);
+        return regressions;
+    }
+
+    public record Regression(int year, int day, Stage stage, String metric, double baseline, double current) {
+        @Override
+        public String toString() {
+            return "%d day %d %s: %s went from %.03f to %.03f (%+.01f%%)".formatted(
+                    year, day, stage, metric, baseline, current, (current / baseline - 1) * 100);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package solvers;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * How {@link AOCDay#solve(Settings)} runs a day.
+ *
+ * @param stages  the stages to solve
+ * @param warmups the number of untimed runs of each stage before it is measured
+ * @param runs    the number of measured runs of each stage
+ * @param cache   whether to look up answers in the {@link AnswerCache} before solving, and store them after
+ * @param budget  the time each run of a part may take, in ms, or 0 for no limit; see {@link utils.Budget}
+ */
+public record Settings(Set<Stage> stages, int warmups, int runs, boolean cache, long budget) {
+    public Settings {
+        if (stages.isEmpty()) throw new IllegalArgumentException("No stages to solve.");
+        if (warmups < 0) throw new IllegalArgumentException("Warmup count (%d) is less than 0.".formatted(warmups));
+        if (runs < 1) throw new IllegalArgumentException("Run count (%d) is less than 1.".formatted(runs));
+        if (budget < 0) throw new IllegalArgumentException("Budget (%d ms) is less than 0.".formatted(budget));
+        stages = Set.copyOf(stages);
+    }
+
+    // Returns the settings given by the aoc.* system properties, falling back to solving every stage once without
+    // warmups, with answers cached and no time budget; warm statistics are opt-in, e.g. with --warmups 2 --runs 5.
+    public static Settings defaults() {
+        return new Settings(EnumSet.allOf(Stage.class),
+                Integer.getInteger("aoc.warmups", 0),
+                Integer.getInteger("aoc.runs", 1),
+                Boolean.parseBoolean(System.getProperty("aoc.cache", "true")),
+                Long.getLong("aoc.budget", 0));
+    }
+
+    public Settings withStages(Set<Stage> stages) {
+        return new Settings(stages, warmups, runs, cache, budget);
+    }
+
+    public Settings withWarmups(int warmups) {
+        return new Settings(stages, warmups, runs, cache, budget);
+    }
+
+    public Settings withRuns(int runs) {
+        return new Settings(stages, warmups, runs, cache, budget);
+    }
+
+    public Settings withCache(boolean cache) {
+        return new Settings(stages, warmups, runs, cache, budget);
+    }
+
+    public Settings withBudget(long budget) {
+        return new Settings(stages, warmups, runs, cache, budget);
+    }
+}
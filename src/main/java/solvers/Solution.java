@@ -0,0 +1,42 @@
+package solvers;
+
+import utils.Benchmark;
+import utils.Budget;
+
+// The answer to one stage of a day's puzzle, together with how long and how much memory it took to compute.
+public record Solution<R>(int year, int day, Stage stage, R answer,
+                          Benchmark.Statistics statistics, Benchmark.Allocation allocation) {
+    public static <R> Solution<R> of(int year, int day, Stage stage, Benchmark.Result<R> result) {
+        return new Solution<>(year, day, stage, result.answer(), result.statistics(), result.allocation());
+    }
+
+    // Returns a solution whose answer was found in the answer cache, and so was neither timed nor measured.
+    public static <R> Solution<R> cached(int year, int day, Stage stage, R answer) {
+        var statistics = new Benchmark.Statistics(0, 0, Double.NaN, Double.NaN, Double.NaN,
+                Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        return new Solution<>(year, day, stage, answer, statistics, new Benchmark.Allocation(-1, 0, 0));
+    }
+
+    // Returns a solution to a part that exceeded its time budget, which has the timeout as its answer.
+    public static Solution<Budget.Exceeded> timedOut(int year, int day, Stage stage, Budget.Exceeded timeout) {
+        var millis = timeout.elapsed() / 1_000_000.0;
+        var statistics = new Benchmark.Statistics(0, 0, millis, Double.NaN, Double.NaN,
+                millis, millis, millis, millis, millis);
+        return new Solution<>(year, day, stage, timeout, statistics, new Benchmark.Allocation(-1, 0, 0));
+    }
+
+    public boolean cached() {
+        return statistics.runs() == 0 && !timedOut();
+    }
+
+    public boolean timedOut() {
+        return answer instanceof Budget.Exceeded;
+    }
+
+    @Override
+    public String toString() {
+        if (cached()) return "Advent of Code %d, day %d, %s -> %s (cached)".formatted(year, day, stage, answer);
+        if (timedOut()) return "Advent of Code %d, day %d, %s -> %s".formatted(year, day, stage, answer);
+        return "Advent of Code %d, day %d, %s -> %s (%s; %s)".formatted(year, day, stage, answer, statistics, allocation);
+    }
+}
@@ -0,0 +1,29 @@
+package solvers;
+
+public enum Stage {
+    PARSE("parse"),
+    PART_ONE("1"),
+    PART_TWO("2");
+
+    private final String label;
+
+    Stage(String label) {
+        this.label = label;
+    }
+
+    public static Stage parse(String label) {
+        for (Stage stage : values()) {
+            if (stage.label.equals(label)) return stage;
+        }
+        throw new IllegalArgumentException("Unknown stage: '%s'.".formatted(label));
+    }
+
+    public String label() {
+        return label;
+    }
+
+    @Override
+    public String toString() {
+        return this == PARSE ? label : "part " + label;
+    }
+}
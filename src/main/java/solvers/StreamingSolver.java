@@ -0,0 +1,21 @@
+package solvers;
+
+import java.util.stream.Stream;
+
+/**
+ * A solver that can also solve some of its stages incrementally from a stream of lines, e.g. read lazily from a file,
+ * a pipe or stdin, holding only what the stage needs rather than the whole input.
+ *
+ * @param <R> the type of the answers
+ */
+public interface StreamingSolver<R> {
+    // Whether the stage can be solved from a stream of lines.
+    boolean streams(Stage stage);
+
+    /**
+     * Solves a stage by consuming a stream of lines once, in order.
+     *
+     * @throws UnsupportedOperationException if the stage cannot be streamed
+     */
+    R solve(Stage stage, Stream<String> lines);
+}
@@ -1,37 +1,70 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import solvers.StreamingSolver;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Stream;
 
-public class AOC2018Day1 extends AOCDay<Integer> {
+public class AOC2018Day1 extends AOCDay<int[], Integer> implements StreamingSolver<Integer> {
     public AOC2018Day1() throws IOException, URISyntaxException {
         super(1, 2018);
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
+    protected List<Check> checks() {
+        return List.of(
+                example(Stage.PART_ONE, "+1\n-2\n+3\n+1", 3),
+                example(Stage.PART_ONE, "+1\n+1\n-2", 0),
+                example(Stage.PART_ONE, "-1\n-2\n-3", -6),
+                example(Stage.PART_TWO, "+1\n-2\n+3\n+1", 2),
+                example(Stage.PART_TWO, "+1\n-1", 0),
+                example(Stage.PART_TWO, "+3\n+3\n+4\n-2\n-4", 10),
+                example(Stage.PART_TWO, "-6\n+3\n+8\n+5\n-6", 5),
+                example(Stage.PART_TWO, "+7\n+7\n-2\n-7\n-4", 14)
+        );
+    }
+
+    @Override
+    protected int[] parse(List<String> input) {
         return input.stream()
                 .mapToInt(Integer::parseInt)
-                .sum();
+                .toArray();
+    }
+
+    @Override
+    protected Integer solvePartOne(int[] changes) {
+        return Arrays.stream(changes).sum();
     }
 
     @Override
-    protected Integer solvePartTwo(List<String> input) {
-        var changes = input.stream()
-                .map(Integer::valueOf)
-                .toList();
+    protected Integer solvePartTwo(int[] changes) {
         var frequencies = new HashSet<Integer>();
         var current = 0;
         frequencies.add(current);
         for (int i = 0; ; i++) {
-            current += changes.get(i % changes.size());
+            current += changes[i % changes.length];
             if (frequencies.contains(current)) break;
             else frequencies.add(current);
         }
         return current;
     }
+
+    // Part one is a running sum, while part two cycles through the changes repeatedly and needs all of them.
+    @Override
+    public boolean streams(Stage stage) {
+        return stage == Stage.PART_ONE;
+    }
+
+    @Override
+    public Integer solve(Stage stage, Stream<String> lines) {
+        if (!streams(stage)) throw new UnsupportedOperationException("Day 1 %s cannot be streamed.".formatted(stage));
+        return lines.mapToInt(Integer::parseInt).sum();
+    }
 }
@@ -1,6 +1,8 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import utils.NumberScanner;
+import utils.Output;
 import utils.Pair;
 
 import javax.imageio.ImageIO;
@@ -8,30 +10,26 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.regex.Pattern;
-
-import static utils.RegexUtils.*;
-
-public class AOC2018Day10 extends AOCDay<String> {
-    private static final String REGEX_NUMBER = group(min(set(or(" ", "-")), 0), min(ANY_DIGIT, 1));
-    private static final String REGEX_INPUT = join("position=<", REGEX_NUMBER, ", ", REGEX_NUMBER, "> velocity=<", REGEX_NUMBER, ", ", REGEX_NUMBER, ">");
-    private static final Pattern PATTERN_INPUT = Pattern.compile(REGEX_INPUT);
-
-    private final List<LightVector> vectors;
 
+public class AOC2018Day10 extends AOCDay<List<AOC2018Day10.LightVector>, String> {
     public AOC2018Day10() throws IOException, URISyntaxException {
         super(10, 2018);
-        this.vectors = parse(input);
     }
 
-    private static List<LightVector> parse(List<String> input) {
-        var unadjusted = input.stream()
-                .map(AOC2018Day10::parse)
-                .toList();
+    @Override
+    protected List<LightVector> parse(List<String> input) {
+        var unadjusted = new ArrayList<LightVector>(input.size());
+        var numbers = new int[4];
+        for (int i = 0; i < input.size(); i++) {
+            if (NumberScanner.ints(input, i, numbers) != 4) {
+                throw new AssertionError("Malformed input: %s.".formatted(input.get(i)));
+            }
+            unadjusted.add(LightVector.of(numbers[0], numbers[1], numbers[2], numbers[3]));
+        }
         var xOffset = unadjusted.stream()
                 .map(LightVector::x)
                 .min(Comparator.naturalOrder())
@@ -45,19 +43,6 @@ public class AOC2018Day10 extends AOCDay<String> {
                 .toList();
     }
 
-    private static LightVector parse(String input) {
-        var match = PATTERN_INPUT.matcher(input)
-                .results()
-                .findFirst()
-                .orElseThrow(() -> new AssertionError("Malformed input: %s.".formatted(input)));
-        return new LightVector.Builder()
-                .setX(match.group(1))
-                .setY(match.group(2))
-                .setDx(match.group(3))
-                .setDy(match.group(4))
-                .build();
-    }
-
     private static BufferedImage image(List<LightVector> vectors, int delta) {
         int scale = 1;
 
@@ -81,26 +66,20 @@ public class AOC2018Day10 extends AOCDay<String> {
     }
 
     @Override
-    protected String solvePartOne(List<String> input) {
+    protected String solvePartOne(List<LightVector> vectors) {
         int delta = 10605;
-        var image = image(vectors, delta);
-        try {
-            var path = Path.of("src/main/resources/output/2018/day10.png");
-            Files.deleteIfExists(path);
-            Files.createFile(path);
-            ImageIO.write(image, "png", path.toFile());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // The parsed vectors are never mutated, so the image can be rendered later by the output writer.
+        Output.artifact(Path.of("src/main/resources/output/2018/day10.png"),
+                out -> ImageIO.write(image(vectors, delta), "png", out));
         return "see day10.png";
     }
 
     @Override
-    protected String solvePartTwo(List<String> input) {
+    protected String solvePartTwo(List<LightVector> vectors) {
         return "10605";
     }
 
-    private record LightVector(int x, int y, int dx, int dy) {
+    record LightVector(int x, int y, int dx, int dy) {
         private static LightVector of(int x, int y, int dx, int dy) {
             return new LightVector(x, y, dx, dy);
         }
@@ -109,33 +88,5 @@ public class AOC2018Day10 extends AOCDay<String> {
         public String toString() {
             return Pair.of(x, y) + " -> " + Pair.of(dx, dy);
         }
-
-        private static class Builder {
-            private int x, y, dx, dy;
-
-            public Builder setX(String x) {
-                this.x = Integer.parseInt(x.strip());
-                return this;
-            }
-
-            public Builder setY(String y) {
-                this.y = Integer.parseInt(y.strip());
-                return this;
-            }
-
-            public Builder setDx(String dx) {
-                this.dx = Integer.parseInt(dx.strip());
-                return this;
-            }
-
-            public Builder setDy(String dy) {
-                this.dy = Integer.parseInt(dy.strip());
-                return this;
-            }
-
-            private LightVector build() {
-                return LightVector.of(x, y, dx, dy);
-            }
-        }
     }
 }
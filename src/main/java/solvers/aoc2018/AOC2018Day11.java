@@ -1,6 +1,10 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.Budget;
+import utils.Metrics;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -8,26 +12,41 @@ import java.util.List;
 import java.util.stream.IntStream;
 
 @SuppressWarnings("DuplicatedCode")
-public class AOC2018Day11 extends AOCDay<String> {
+public class AOC2018Day11 extends AOCDay<Integer, String> {
     private static final int SIZE = 300;
-    private final int serial;
+    private static final Metrics.Gauge SQUARE_SIZE = Metrics.gauge("2018 day 11 square size");
+    private static final Metrics.Counter SQUARES = Metrics.counter("2018 day 11 squares summed");
 
     public AOC2018Day11() throws IOException, URISyntaxException {
         super(11, 2018);
+    }
 
-        assert power(3, 5, 8) == 4;
-        assert power(122, 79, 57) == -5;
-        assert power(217, 196, 39) == 0;
-        assert power(101, 153, 71) == 4;
-
-        assert area(33, 45, 3, 18) == 29;
-        assert area(21, 61, 3, 42) == 30;
-
-        assert area(90 , 269, 16, 18) == 113;
-        assert area(232, 251, 12, 42) == 119;
+    // Part two of the examples takes as long as part two of the input, so only the areas of its answers are checked.
+    @Override
+    protected List<Check> checks() {
+        return List.of(
+                Check.of("power(3, 5, 8)", 4, () -> power(3, 5, 8)),
+                Check.of("power(122, 79, 57)", -5, () -> power(122, 79, 57)),
+                Check.of("power(217, 196, 39)", 0, () -> power(217, 196, 39)),
+                Check.of("power(101, 153, 71)", 4, () -> power(101, 153, 71)),
+                Check.of("area(33, 45, 3, 18)", 29, () -> area(33, 45, 3, 18)),
+                Check.of("area(21, 61, 3, 42)", 30, () -> area(21, 61, 3, 42)),
+                Check.of("area(90, 269, 16, 18)", 113, () -> area(90, 269, 16, 18)),
+                Check.of("area(232, 251, 12, 42)", 119, () -> area(232, 251, 12, 42)),
+                example(Stage.PART_ONE, "18", "33,45"),
+                example(Stage.PART_ONE, "42", "21,61")
+        );
+    }
 
+    @Override
+    protected Integer parse(List<String> input) {
         assert input.size() == 1;
-        this.serial = Integer.parseInt(input.get(0));
+        return Integer.parseInt(input.get(0));
+    }
+
+    @Override
+    protected boolean independentParts() {
+        return true;
     }
 
     private static int power(int x, int y, int sn) {
@@ -49,7 +68,7 @@ public class AOC2018Day11 extends AOCDay<String> {
     }
 
     @Override
-    protected String solvePartOne(List<String> input) {
+    protected String solvePartOne(Integer serial) {
         int x = Integer.MIN_VALUE, y = Integer.MIN_VALUE, power = Integer.MIN_VALUE;
         for (int i = 1; i < SIZE - 2; i++) {
             for (int j = 1; j < SIZE - 2; j++) {
@@ -65,10 +84,13 @@ public class AOC2018Day11 extends AOCDay<String> {
     }
 
     @Override
-    protected String solvePartTwo(List<String> input) {
+    protected String solvePartTwo(Integer serial) {
         int x = Integer.MIN_VALUE, y = Integer.MIN_VALUE, sz = Integer.MIN_VALUE, power = Integer.MIN_VALUE;
+        var budget = Budget.current();
         for (int s = 1; s < SIZE; s++) {
-            LOGGER.info(s);
+            budget.checkpoint("square size", s);
+            SQUARE_SIZE.set(s);
+            SQUARES.add((long) (SIZE - s) * (SIZE - s));
             for (int i = 1; i < SIZE - s + 1; i++) {
                 for (int j = 1; j < SIZE - s + 1; j++) {
                     int p = area(i, j, s, serial);
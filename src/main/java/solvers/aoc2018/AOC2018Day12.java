@@ -1,32 +1,69 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.Metrics;
 import utils.Pair;
+import utils.Regex;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
 import static utils.RegexUtils.*;
 
-public class AOC2018Day12 extends AOCDay<Long> {
+public class AOC2018Day12 extends AOCDay<AOC2018Day12.Rules, Long> {
     private static final char ALIVE = '#', DEAD = '.';
-    private final Map<Integer, Character> state;
-    private final Set<String> lives, dies;
-    private int lo, hi;
+    private static final Metrics.Counter GENERATIONS = Metrics.counter("2018 day 12 generations simulated");
+    private static final Regex RULE = compile(group(repeat(set(or("#", ".")), 5, 5)),
+            " => ", group(or("#", ".")));
 
     public AOC2018Day12() throws IOException, URISyntaxException {
         super(12, 2018);
+    }
+
+    @Override
+    protected Rules parse(List<String> input) {
         assert input.size() > 1;
-        this.state = new HashMap<>();
+        var state = new HashMap<Integer, Character>();
         parseInitialState(state, input.get(0));
-        this.lives = new HashSet<>();
-        this.dies = new HashSet<>();
+        var lives = new HashSet<String>();
+        var dies = new HashSet<String>();
         parseRules(lives, dies, input.subList(1, input.size()));
+        // Patterns without a rule leave the pot empty, as the example in the puzzle only lists those producing a plant.
+        for (int pattern = 0; pattern < 32; pattern++) {
+            var pots = new StringBuilder();
+            for (int bit = 4; bit >= 0; bit--) {
+                pots.append((pattern >> bit & 1) == 1 ? ALIVE : DEAD);
+            }
+            if (!lives.contains(pots.toString())) dies.add(pots.toString());
+        }
         assert lives.size() + dies.size() == 32;
+        return new Rules(state, lives, dies);
+    }
+
+    @Override
+    protected List<Check> checks() {
+        return List.of(example(Stage.PART_ONE, """
+                initial state: #..#.#..##......###...###
+
+                ...## => #
+                ..#.. => #
+                .#... => #
+                .#.#. => #
+                .#.## => #
+                .##.. => #
+                .#### => #
+                #.#.# => #
+                #.### => #
+                ##.#. => #
+                ##.## => #
+                ###.. => #
+                ###.# => #
+                ####. => #
+                """, 325L));
     }
 
     private static void parseInitialState(Map<Integer, Character> state, String input) {
@@ -40,11 +77,8 @@ public class AOC2018Day12 extends AOCDay<Long> {
     }
 
     private static void parseRules(Set<String> lives, Set<String> dies, List<String> input) {
-        var regex = join(group(repeat(set(or("#", ".")), 5, 5)),
-                " => ", group(or("#", ".")));
-        var pattern = Pattern.compile(regex);
-        var rules = input.stream().map(pattern::matcher)
-                .flatMap(Matcher::results)
+        var rules = input.stream().map(RULE::find)
+                .flatMap(Optional::stream)
                 .map(match -> Pair.of(match.group(1), match.group(2)))
                 .toList();
         for (Pair<String, String> rule : rules) {
@@ -58,59 +92,20 @@ public class AOC2018Day12 extends AOCDay<Long> {
         }
     }
 
-    private char simulate(int id, Map<Integer, Character> simulation) {
-        var condition = IntStream.rangeClosed(id - 2, id + 2)
-                .mapToObj(i -> simulation.getOrDefault(i, DEAD))
-                .reduce(new StringBuilder(), StringBuilder::append, StringBuilder::append)
-                .toString();
-        assert lives.contains(condition) || dies.contains(condition);
-        if (lives.contains(condition)) return ALIVE;
-        else return DEAD;
-    }
-
-    private Map<Integer, Character> simulate(Map<Integer, Character> simulation) {
-        var changes = Collections.synchronizedMap(new HashMap<Integer, Character>());
-        char l1 = simulate(lo - 1, simulation), l2 = simulate(lo - 2, simulation);
-        char h1 = simulate(hi + 1, simulation), h2 = simulate(hi + 2, simulation);
-        if (l1 == ALIVE) changes.put(--lo, l1);
-        if (l2 == ALIVE) changes.put(--lo, l2);
-        if (h1 == ALIVE) changes.put(++hi, h1);
-        if (h2 == ALIVE) changes.put(++hi, h2);
-        IntStream.range(lo, hi)
-                .parallel()
-                .mapToObj(id -> Pair.of(id, simulate(id, simulation)))
-                .forEach(pair -> {
-                    var id = pair.left();
-                    var outcome = pair.right();
-                    if (simulation.getOrDefault(id, DEAD) != outcome) changes.put(id, outcome);
-                });
-        return changes;
-    }
-
-    private Integer simulate(long generations) {
-        this.lo = 0;
-        this.hi = state.size() - 1;
-        var simulation = new HashMap<>(state);
-        for (long i = 0; i < generations; i++) {
-            simulation.putAll(simulate(simulation));
-        }
-        return simulation.entrySet().stream()
-                .filter(kv -> kv.getValue() == ALIVE)
-                .map(Map.Entry::getKey)
-                .reduce(Integer::sum)
-                .orElse(0);
+    private static Integer simulate(Rules rules, long generations) {
+        return new Pots(rules).simulate(generations);
     }
 
     @Override
-    protected Long solvePartOne(List<String> input) {
-        return simulate(20).longValue();
+    protected Long solvePartOne(Rules rules) {
+        return simulate(rules, 20).longValue();
     }
 
     @Override
-    protected Long solvePartTwo(List<String> input) {
+    protected Long solvePartTwo(Rules rules) {
         var generations = IntStream.range(0, 5)
                 .map(i -> i *= 100)
-                .map(this::simulate)
+                .map(i -> simulate(rules, i))
                 .boxed()
                 .toList();
         var deltas = IntStream.range(1, 5)
@@ -118,6 +113,64 @@ public class AOC2018Day12 extends AOCDay<Long> {
                 .boxed()
                 .toList();
         assert deltas.subList(2, 4).stream().allMatch(delta -> deltas.get(1).equals(delta));
-        return simulate(500) + (50000000000L - 500) / 100 * deltas.get(1);
+        return simulate(rules, 500) + (50000000000L - 500) / 100 * deltas.get(1);
+    }
+
+    // The initial state of the pots, and the patterns of pots around a pot that leave it with a plant or without one.
+    record Rules(Map<Integer, Character> state, Set<String> lives, Set<String> dies) {
+    }
+
+    // A row of pots being simulated, which grows in both directions as plants spread.
+    private static final class Pots {
+        private final Rules rules;
+        private int lo, hi;
+
+        private Pots(Rules rules) {
+            this.rules = rules;
+        }
+
+        private char simulate(int id, Map<Integer, Character> simulation) {
+            var condition = IntStream.rangeClosed(id - 2, id + 2)
+                    .mapToObj(i -> simulation.getOrDefault(i, DEAD))
+                    .reduce(new StringBuilder(), StringBuilder::append, StringBuilder::append)
+                    .toString();
+            assert rules.lives().contains(condition) || rules.dies().contains(condition);
+            if (rules.lives().contains(condition)) return ALIVE;
+            else return DEAD;
+        }
+
+        private Map<Integer, Character> simulate(Map<Integer, Character> simulation) {
+            var changes = Collections.synchronizedMap(new HashMap<Integer, Character>());
+            char l1 = simulate(lo - 1, simulation), l2 = simulate(lo - 2, simulation);
+            char h1 = simulate(hi + 1, simulation), h2 = simulate(hi + 2, simulation);
+            if (l1 == ALIVE) changes.put(--lo, l1);
+            if (l2 == ALIVE) changes.put(--lo, l2);
+            if (h1 == ALIVE) changes.put(++hi, h1);
+            if (h2 == ALIVE) changes.put(++hi, h2);
+            IntStream.range(lo, hi)
+                    .parallel()
+                    .mapToObj(id -> Pair.of(id, simulate(id, simulation)))
+                    .forEach(pair -> {
+                        var id = pair.left();
+                        var outcome = pair.right();
+                        if (simulation.getOrDefault(id, DEAD) != outcome) changes.put(id, outcome);
+                    });
+            return changes;
+        }
+
+        private Integer simulate(long generations) {
+            this.lo = 0;
+            this.hi = rules.state().size() - 1;
+            var simulation = new HashMap<>(rules.state());
+            for (long i = 0; i < generations; i++) {
+                simulation.putAll(simulate(simulation));
+                GENERATIONS.increment();
+            }
+            return simulation.entrySet().stream()
+                    .filter(kv -> kv.getValue() == ALIVE)
+                    .map(Map.Entry::getKey)
+                    .reduce(Integer::sum)
+                    .orElse(0);
+        }
     }
 }
@@ -1,6 +1,8 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
 import utils.Pair;
 
 import java.io.IOException;
@@ -8,16 +10,41 @@ import java.net.URISyntaxException;
 import java.util.*;
 import java.util.stream.Collectors;
 
-public class AOC2018Day13 extends AOCDay<String> {
-    private final CartTrackSystem initial;
-
+public class AOC2018Day13 extends AOCDay<AOC2018Day13.CartTrackSystem, String> {
     public AOC2018Day13() throws IOException, URISyntaxException {
         super(13, 2018);
-        this.initial = CartTrackSystem.parse(super.input);
     }
 
     @Override
-    protected String solvePartOne(List<String> input) {
+    protected List<Check> checks() {
+        return List.of(
+                example(Stage.PART_ONE, """
+                        /->-\\
+                        |   |  /----\\
+                        | /-+--+-\\  |
+                        | | |  | v  |
+                        \\-+-/  \\-+--/
+                          \\------/
+                        """, "7,3"),
+                example(Stage.PART_TWO, """
+                        />-<\\
+                        |   |
+                        | /<+-\\
+                        | | | v
+                        \\>+</ |
+                          |   ^
+                          \\<->/
+                        """, "6,4")
+        );
+    }
+
+    @Override
+    protected CartTrackSystem parse(List<String> input) {
+        return CartTrackSystem.parse(input);
+    }
+
+    @Override
+    protected String solvePartOne(CartTrackSystem initial) {
         var system = CartTrackSystem.from(initial);
         while (true) {
             if (system.tickInterruptingAfterCollision()) break;
@@ -34,7 +61,7 @@ public class AOC2018Day13 extends AOCDay<String> {
     }
 
     @Override
-    protected String solvePartTwo(List<String> input) {
+    protected String solvePartTwo(CartTrackSystem initial) {
         var system = CartTrackSystem.from(initial);
         while (system.carts().size() > 1) {
             system.tickRemovingCollidedCarts();
@@ -44,8 +71,8 @@ public class AOC2018Day13 extends AOCDay<String> {
         return cart.x() + "," + cart.y();
     }
 
-    private record CartTrackSystem(int width, int height, char[][] tracks, List<Cart> carts) {
-        private CartTrackSystem(int width, int height, char[][] tracks, List<Cart> carts) {
+    record CartTrackSystem(int width, int height, char[][] tracks, List<Cart> carts) {
+        CartTrackSystem(int width, int height, char[][] tracks, List<Cart> carts) {
             this.width = width;
             this.height = height;
             this.carts = carts.stream()
@@ -1,6 +1,10 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.Budget;
+import utils.Metrics;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -8,36 +12,50 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-public class AOC2018Day14 extends AOCDay<String> {
+public class AOC2018Day14 extends AOCDay<String, String> {
+    private static final Metrics.Counter RECIPES = Metrics.counter("2018 day 14 recipes created");
+
     public AOC2018Day14() throws IOException, URISyntaxException {
         super(14, 2018);
-        var scoreboard = parse(List.of("37"));
-        assert scoreboard.improvement(5).equals("0124515891");
-        assert scoreboard.improvement(9).equals("5158916779");
-        assert scoreboard.improvement(18).equals("9251071085");
-        assert scoreboard.improvement(2018).equals("5941429882");
     }
 
-    private static Scoreboard parse(List<String> input) {
+    @Override
+    protected List<Check> checks() {
+        return List.of(
+                example(Stage.PART_ONE, "5", "0124515891"),
+                example(Stage.PART_ONE, "9", "5158916779"),
+                example(Stage.PART_ONE, "18", "9251071085"),
+                example(Stage.PART_ONE, "2018", "5941429882"),
+                example(Stage.PART_TWO, "51589", "9"),
+                example(Stage.PART_TWO, "01245", "5"),
+                example(Stage.PART_TWO, "92510", "18"),
+                example(Stage.PART_TWO, "59414", "2018")
+        );
+    }
+
+    @Override
+    protected String parse(List<String> input) {
         assert input.size() == 1;
-        return Scoreboard.parse(input.get(0));
+        return input.get(0);
     }
 
     @Override
-    protected String solvePartOne(List<String> input) {
-        var scoreboard = parse(List.of("37"));
-        return scoreboard.improvement(Integer.parseInt(input.get(0)));
+    protected String solvePartOne(String input) {
+        var scoreboard = Scoreboard.parse("37");
+        return scoreboard.improvement(Integer.parseInt(input));
     }
 
     @Override
-    protected String solvePartTwo(List<String> input) {
-        var scoreboard = parse(List.of("37"));
+    protected String solvePartTwo(String input) {
+        var scoreboard = Scoreboard.parse("37");
         var min = 0;
-        while (!scoreboard.scores(min, scoreboard.size() - 1).contains(input.get(0))) {
+        var budget = Budget.current();
+        while (!scoreboard.scores(min, scoreboard.size() - 1).contains(input)) {
+            budget.checkpoint("recipes", scoreboard.size());
             min = scoreboard.size() - 4;
             scoreboard.createNewRecipes();
         }
-        return String.valueOf(scoreboard.scores(0, scoreboard.size() - 1).indexOf(input.get(0)) - 1);
+        return String.valueOf(scoreboard.scores(0, scoreboard.size() - 1).indexOf(input) - 1);
     }
 
     private static final class Elf {
@@ -106,6 +124,7 @@ public class AOC2018Day14 extends AOCDay<String> {
 
             // The new recipes are added to the end of the scoreboard in the order they are created.
             appendRecipes(newRecipes);
+            RECIPES.add(newRecipes.size());
 
             // After all new recipes are added to the scoreboard, each Elf picks a new current recipe.
             elves.forEach(Elf::pickNewCurrentRecipe);
@@ -133,7 +152,9 @@ public class AOC2018Day14 extends AOCDay<String> {
         // scores of the ten recipes after that.
         // Returns the improvement after the elves have worked on n new recipes.
         private String improvement(int nNewRecipes) {
+            var budget = Budget.current();
             while (size < nNewRecipes + 10) {
+                budget.checkpoint("recipes", size);
                 createNewRecipes();
             }
             return scores(nNewRecipes + 1, nNewRecipes + 10);
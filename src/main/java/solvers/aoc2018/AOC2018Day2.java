@@ -1,6 +1,8 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -9,11 +11,41 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-public class AOC2018Day2 extends AOCDay<String> {
+public class AOC2018Day2 extends AOCDay<List<String>, String> {
     public AOC2018Day2() throws IOException, URISyntaxException {
         super(2, 2018);
     }
 
+    @Override
+    protected List<Check> checks() {
+        return List.of(
+                example(Stage.PART_ONE, """
+                        abcdef
+                        bababc
+                        abbcde
+                        abcccd
+                        aabcdd
+                        abcdee
+                        ababab
+                        """, 12),
+                example(Stage.PART_TWO, """
+                        abcde
+                        fghij
+                        klmno
+                        pqrst
+                        fguij
+                        axcye
+                        wvxyz
+                        """, "fgij")
+        );
+    }
+
+    // Decodes every line once, since part two reads each line many times.
+    @Override
+    protected List<String> parse(List<String> input) {
+        return List.copyOf(input);
+    }
+
     private static boolean check(String a, String b) {
         assert a.length() == b.length() : "Strings are not of the same length.";
         var difference = IntStream.range(0, a.length())
@@ -1,49 +1,66 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import solvers.StreamingSolver;
+import utils.Regex;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static utils.RegexUtils.*;
 
-public class AOC2018Day3 extends AOCDay<Integer> {
+public class AOC2018Day3 extends AOCDay<List<AOC2018Day3.Claim>, Integer> implements StreamingSolver<Integer> {
     private static final int UNCLAIMED = 0, CLAIMED = 1, DISPUTED = 2;
+    private static final Regex CLAIM = compile("#",
+            group(min(ANY_DIGIT, 1)), " @ ",
+            group(min(ANY_DIGIT, 1)), ",",
+            group(min(ANY_DIGIT, 1)), ": ",
+            group(min(ANY_DIGIT, 1)), "x",
+            group(min(ANY_DIGIT, 1))
+    );
 
     public AOC2018Day3() throws IOException, URISyntaxException {
         super(3, 2018);
     }
 
-    private static List<Claim> parse(List<String> input) {
+    @Override
+    protected List<Check> checks() {
+        var claims = """
+                #1 @ 1,3: 4x4
+                #2 @ 3,1: 4x4
+                #3 @ 5,5: 2x2
+                """;
+        return List.of(example(Stage.PART_ONE, claims, 4), example(Stage.PART_TWO, claims, 3));
+    }
+
+    @Override
+    protected boolean independentParts() {
+        return true;
+    }
+
+    @Override
+    protected List<Claim> parse(List<String> input) {
         return input.stream()
                 .map(AOC2018Day3::parse)
                 .toList();
     }
 
     private static Claim parse(String input) {
-        var regex = join("#",
-                group(min(ANY_DIGIT, 1)), " @ ",
-                group(min(ANY_DIGIT, 1)), ",",
-                group(min(ANY_DIGIT, 1)), ": ",
-                group(min(ANY_DIGIT, 1)), "x",
-                group(min(ANY_DIGIT, 1))
-        );
-        var result = Pattern.compile(regex)
-                .matcher(input)
-                .results()
-                .findFirst()
+        var result = CLAIM.find(input)
                 .orElseThrow(() -> new AssertionError("Regex parsing failed - missing result."));
         assert result.groupCount() == 5 : "Regex parsing failed - missing capture groups.";
-        var id = Integer.parseInt(result.group(1));
-        var x = Integer.parseInt(result.group(2));
-        var y = Integer.parseInt(result.group(3));
-        var w = Integer.parseInt(result.group(4));
-        var h = Integer.parseInt(result.group(5));
+        var id = result.getInt(1);
+        var x = result.getInt(2);
+        var y = result.getInt(3);
+        var w = result.getInt(4);
+        var h = result.getInt(5);
         return Claim.of(id, x, y, w, h);
     }
 
@@ -60,16 +77,52 @@ public class AOC2018Day3 extends AOCDay<Integer> {
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
-        var claims = parse(input);
-        var fabric = claims.stream()
-                .map(Claim::area)
-                .reduce(Rectangle::union)
-                .map(r -> new byte[r.x + r.w][r.y + r.h])
-                .orElseThrow(() -> new AssertionError("Fabric creation failed."));
-        fabric = claims.stream()
-                .map(Claim::area)
-                .reduce(fabric, AOC2018Day3::claim, (a, b) -> a);
+    protected Integer solvePartOne(List<Claim> claims) {
+        var fabric = traced("build", () -> {
+            var bounds = claims.stream()
+                    .map(Claim::area)
+                    .reduce(Rectangle::union)
+                    .map(r -> new byte[r.x + r.w][r.y + r.h])
+                    .orElseThrow(() -> new AssertionError("Fabric creation failed."));
+            return claims.stream()
+                    .map(Claim::area)
+                    .reduce(bounds, AOC2018Day3::claim, (a, b) -> a);
+        });
+        return traced("scan", () -> {
+            var disputed = 0;
+            for (byte[] row : fabric) {
+                for (byte b : row) {
+                    if (b == DISPUTED) disputed++;
+                }
+            }
+            return disputed;
+        });
+    }
+
+    @Override
+    protected Integer solvePartTwo(List<Claim> claims) {
+        return traced("search", () -> undisputed(claims));
+    }
+
+    // Part one only needs the fabric, which grows to fit each claim, while part two compares every pair of claims.
+    @Override
+    public boolean streams(Stage stage) {
+        return stage == Stage.PART_ONE;
+    }
+
+    @Override
+    public Integer solve(Stage stage, Stream<String> lines) {
+        if (!streams(stage)) throw new UnsupportedOperationException("Day 3 %s cannot be streamed.".formatted(stage));
+        var fabric = new byte[0][0];
+        var iterator = lines.iterator();
+        while (iterator.hasNext()) {
+            var claim = parse(iterator.next()).area();
+            int width = claim.x + claim.w, height = claim.y + claim.h;
+            if (width > fabric.length || (fabric.length > 0 && height > fabric[0].length)) {
+                fabric = grow(fabric, width, height);
+            }
+            claim(fabric, claim);
+        }
         var disputed = 0;
         for (byte[] row : fabric) {
             for (byte b : row) {
@@ -79,9 +132,19 @@ public class AOC2018Day3 extends AOCDay<Integer> {
         return disputed;
     }
 
-    @Override
-    protected Integer solvePartTwo(List<String> input) {
-        var claims = parse(input);
+    // Returns a copy of the fabric at least as large as the given size, at least doubling whichever bounds are too small.
+    private static byte[][] grow(byte[][] fabric, int width, int height) {
+        var oldHeight = fabric.length == 0 ? 0 : fabric[0].length;
+        var newWidth = width > fabric.length ? Math.max(width, fabric.length * 2) : fabric.length;
+        var newHeight = height > oldHeight ? Math.max(height, oldHeight * 2) : oldHeight;
+        var grown = new byte[newWidth][];
+        for (int i = 0; i < newWidth; i++) {
+            grown[i] = i < fabric.length ? Arrays.copyOf(fabric[i], newHeight) : new byte[newHeight];
+        }
+        return grown;
+    }
+
+    private static int undisputed(List<Claim> claims) {
         for (int i = 0; i < claims.size(); i++) {
             var claim = claims.get(i);
             var rectangle = claim.area;
@@ -93,7 +156,7 @@ public class AOC2018Day3 extends AOCDay<Integer> {
         throw new AssertionError("Undisputed claim not found.");
     }
 
-    private record Claim(int id, Rectangle area) {
+    record Claim(int id, Rectangle area) {
         private static Claim of(int id, int x, int y, int w, int h) {
             return new Claim(id, Rectangle.of(x, y, w, h));
         }
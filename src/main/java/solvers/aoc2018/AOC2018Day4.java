@@ -1,21 +1,66 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import solvers.StreamingSolver;
+import utils.Regex;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static utils.DateUtils.*;
 import static utils.RegexUtils.*;
 
-public class AOC2018Day4 extends AOCDay<Integer> {
+public class AOC2018Day4 extends AOCDay<Collection<AOC2018Day4.Guard>, Integer> implements StreamingSolver<Integer> {
+    private static final Regex ENTRY = compile(BEGINNING_OF_LINE,
+            "\\[", String.join("-", REGEX_YYYY, REGEX_MM, REGEX_DD), " ",
+            group(repeat(ANY_DIGIT, 2, 2)), ":",
+            group(repeat(ANY_DIGIT, 2, 2)), "\\] ",
+            LAZY_ANYTHING, END_OF_LINE
+    );
+    private static final Regex GUARD_ID = compile("Guard #",
+            group(min(ANY_DIGIT, 1)),
+            " begins shift"
+    );
+
     public AOC2018Day4() throws IOException, URISyntaxException {
         super(4, 2018);
     }
 
+    @Override
+    protected List<Check> checks() {
+        var records = """
+                [1518-11-01 00:00] Guard #10 begins shift
+                [1518-11-01 00:05] falls asleep
+                [1518-11-01 00:25] wakes up
+                [1518-11-01 00:30] falls asleep
+                [1518-11-01 00:55] wakes up
+                [1518-11-01 23:58] Guard #99 begins shift
+                [1518-11-02 00:40] falls asleep
+                [1518-11-02 00:50] wakes up
+                [1518-11-03 00:05] Guard #10 begins shift
+                [1518-11-03 00:24] falls asleep
+                [1518-11-03 00:29] wakes up
+                [1518-11-04 00:02] Guard #99 begins shift
+                [1518-11-04 00:36] falls asleep
+                [1518-11-04 00:46] wakes up
+                [1518-11-05 00:03] Guard #99 begins shift
+                [1518-11-05 00:45] falls asleep
+                [1518-11-05 00:55] wakes up
+                """;
+        return List.of(example(Stage.PART_ONE, records, 240), example(Stage.PART_TWO, records, 4455));
+    }
+
+    @Override
+    protected Collection<Guard> parse(List<String> input) {
+        return parseGuards(parseEntries(input));
+    }
+
     private static List<Entry> parseEntries(List<String> input) {
         return input.stream()
                 .map(AOC2018Day4::parseEntry)
@@ -24,16 +69,7 @@ public class AOC2018Day4 extends AOCDay<Integer> {
     }
 
     private static Entry parseEntry(String input) {
-        var regex = join(BEGINNING_OF_LINE,
-                "\\[", String.join("-", REGEX_YYYY, REGEX_MM, REGEX_DD), " ",
-                group(repeat(ANY_DIGIT, 2, 2)), ":",
-                group(repeat(ANY_DIGIT, 2, 2)), "\\] ",
-                LAZY_ANYTHING, END_OF_LINE
-        );
-        var result = Pattern.compile(regex)
-                .matcher(input)
-                .results()
-                .findFirst()
+        var result = ENTRY.find(input)
                 .orElseThrow(() -> new AssertionError("Regex parsing failed - missing result."));
         assert result.groupCount() == 6 : "Regex parsing failed - missing capture groups: expected %d, found %d.".formatted(6, result.groupCount());
         String year = result.group(1), month = result.group(2), day = result.group(3);
@@ -43,17 +79,9 @@ public class AOC2018Day4 extends AOCDay<Integer> {
 
     private static int extractID(Entry entry) {
         assert entry.event.endsWith(" begins shift") : "Entry '%s' is not from a shift takeover.".formatted(entry.event);
-        var regex = join("Guard #",
-                group(min(ANY_DIGIT, 1)),
-                " begins shift"
-        );
-        var id = Pattern.compile(regex)
-                .matcher(entry.event)
-                .results()
-                .findFirst()
+        return GUARD_ID.find(entry.event)
                 .orElseThrow(() -> new AssertionError("ID extraction failed - missing result."))
-                .group(1);
-        return Integer.parseInt(id);
+                .getInt(1);
     }
 
     private static Collection<Guard> parseGuards(List<Entry> entries) {
@@ -80,10 +108,7 @@ public class AOC2018Day4 extends AOCDay<Integer> {
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
-        var entries = parseEntries(input);
-        var guards = parseGuards(entries);
-
+    protected Integer solvePartOne(Collection<Guard> guards) {
         // Find the guard with the longest duration asleep.
         var sleepyhead = guards.stream()
                 .max(Guard.COMPARE_MINUTES_ASLEEP)
@@ -92,9 +117,7 @@ public class AOC2018Day4 extends AOCDay<Integer> {
     }
 
     @Override
-    protected Integer solvePartTwo(List<String> input) {
-        var entries = parseEntries(input);
-        var guards = parseGuards(entries);
+    protected Integer solvePartTwo(Collection<Guard> guards) {
         var sleepyhead = guards.stream()
                 .max(Comparator.comparing(guard -> guard.getMostFrequentMinuteAsleep()
                         .map(guard.midnight::get)
@@ -103,7 +126,65 @@ public class AOC2018Day4 extends AOCDay<Integer> {
         return sleepyhead.id * sleepyhead.getMostFrequentMinuteAsleep().orElseThrow(() -> new AssertionError("Guard did not fall asleep at least once."));
     }
 
-    private static class Guard {
+    @Override
+    public boolean streams(Stage stage) {
+        return stage == Stage.PART_ONE || stage == Stage.PART_TWO;
+    }
+
+    // The log is unsorted, so rather than sorting it, each line is folded into the night it belongs to: the guard on
+    // shift, and a bit for every minute at which the guard fell asleep or woke up. Memory grows with the number of
+    // nights rather than the number of lines.
+    @Override
+    public Integer solve(Stage stage, Stream<String> lines) {
+        if (!streams(stage)) throw new UnsupportedOperationException("Day 4 %s cannot be streamed.".formatted(stage));
+        var nights = new HashMap<LocalDate, Night>();
+        var iterator = lines.iterator();
+        while (iterator.hasNext()) {
+            var entry = parseEntry(iterator.next());
+            var time = entry.dateTime;
+            // Shifts may begin before midnight, in which case they belong to the following night.
+            var night = nights.computeIfAbsent(time.toLocalDate().plusDays(time.getHour() == 23 ? 1 : 0), date -> new Night());
+            if (entry.event.endsWith("begins shift")) {
+                night.guard = extractID(entry);
+            } else if (entry.event.startsWith("falls asleep")) {
+                night.toggle(switch (time.getHour()) {
+                    case 23 -> 0;
+                    case 0 -> time.getMinute();
+                    default -> throw new AssertionError("Starting hour before 2300h");
+                });
+            } else if (entry.event.startsWith("wakes up")) {
+                night.toggle(switch (time.getHour()) {
+                    case 0 -> time.getMinute();
+                    case 1 -> 59;
+                    default -> throw new AssertionError("Ending hour after 0159h");
+                });
+            }
+        }
+
+        var guards = new HashMap<Integer, Guard>();
+        for (Night night : nights.values()) {
+            assert night.guard != -1 : "Missing guard ID.";
+            var guard = guards.computeIfAbsent(night.guard, Guard::new);
+            var asleep = false;
+            for (int minute = 0; minute < 60; minute++) {
+                if ((night.toggles & 1L << minute) != 0) asleep = !asleep;
+                if (asleep) guard.midnight.merge(minute, 1, Integer::sum);
+            }
+        }
+        return stage == Stage.PART_ONE ? solvePartOne(guards.values()) : solvePartTwo(guards.values());
+    }
+
+    private static final class Night {
+        private int guard = -1;
+        private long toggles; // bit i is set if the guard fell asleep or woke up at 00:i, but not both
+
+        // Falling asleep and waking up at the same minute cancel out, as the guard is asleep for no minutes.
+        private void toggle(int minute) {
+            toggles ^= 1L << minute;
+        }
+    }
+
+    static class Guard {
         private static final Comparator<Guard> COMPARE_MINUTES_ASLEEP = Comparator.comparing(Guard::getMinutesAsleep);
 
         private final HashMap<Integer, Integer> midnight = new HashMap<>();
@@ -1,28 +1,45 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Comparator;
 import java.util.List;
 
-public class AOC2018Day5 extends AOCDay<Integer> {
+public class AOC2018Day5 extends AOCDay<AOC2018Day5.Polymer, Integer> {
     public AOC2018Day5() throws IOException, URISyntaxException {
         super(5, 2018);
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
+    protected List<Check> checks() {
+        return List.of(
+                example(Stage.PART_ONE, "dabAcCaCBAcCcaDA", 10),
+                example(Stage.PART_TWO, "dabAcCaCBAcCcaDA", 4)
+        );
+    }
+
+    @Override
+    protected boolean independentParts() {
+        return true;
+    }
+
+    @Override
+    protected Polymer parse(List<String> input) {
         assert !input.isEmpty() : "Missing input.";
-        var initial = Polymer.of(input.get(0));
+        return Polymer.of(input.get(0));
+    }
+
+    @Override
+    protected Integer solvePartOne(Polymer initial) {
         return initial.react().length();
     }
 
     @Override
-    protected Integer solvePartTwo(List<String> input) {
-        assert !input.isEmpty() : "Missing input.";
-        var initial = Polymer.of(input.get(0));
+    protected Integer solvePartTwo(Polymer initial) {
         var units = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
         return units.chars()
                 .mapToObj(c -> (char) c)
@@ -33,7 +50,7 @@ public class AOC2018Day5 extends AOCDay<Integer> {
                 .orElseThrow(() -> new AssertionError("Missing polymer reaction result."));
     }
 
-    private record Polymer(String chain) {
+    record Polymer(String chain) {
         private static Polymer of(String chain) {
             return new Polymer(chain);
         }
@@ -1,36 +1,49 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.NumberScanner;
 import utils.Pair;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.function.Function;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import static utils.RegexUtils.*;
-
-public class AOC2018Day6 extends AOCDay<Long> {
+public class AOC2018Day6 extends AOCDay<List<AOC2018Day6.Destination>, Long> {
     public AOC2018Day6() throws IOException, URISyntaxException {
         super(6, 2018);
     }
 
-    private List<Destination> parse(List<String> input) {
-        var regex = join(group(min(ANY_DIGIT, 1)),
-                ", ", group(min(ANY_DIGIT, 1)));
-        var pattern = Pattern.compile(regex);
-        var unadjusted = input.stream()
-                .map(pattern::matcher)
-                .flatMap(matcher -> matcher.results()
-                        .findFirst()
-                        .stream())
-                .map(match -> Destination.ofCoordinates(
-                        Integer.parseInt(match.group(1)),
-                        Integer.parseInt(match.group(2))))
-                .toList();
+    // Part two of the example counts the region within a total distance of 32 rather than 10000, so it is not checked.
+    @Override
+    protected List<Check> checks() {
+        return List.of(example(Stage.PART_ONE, """
+                1, 1
+                1, 6
+                8, 3
+                3, 4
+                5, 5
+                8, 9
+                """, 17));
+    }
+
+    @Override
+    protected boolean independentParts() {
+        return true;
+    }
+
+    @Override
+    protected List<Destination> parse(List<String> input) {
+        var unadjusted = new ArrayList<Destination>(input.size());
+        var xy = new int[2];
+        for (int i = 0; i < input.size(); i++) {
+            if (NumberScanner.ints(input, i, xy) < 2) continue; // skip blank lines
+            unadjusted.add(Destination.ofCoordinates(xy[0], xy[1]));
+        }
         var minX = unadjusted.stream()
                 .map(Destination::x)
                 .min(Comparator.naturalOrder())
@@ -46,8 +59,7 @@ public class AOC2018Day6 extends AOCDay<Long> {
     }
 
     @Override
-    protected Long solvePartOne(List<String> input) {
-        var destinations = parse(input);
+    protected Long solvePartOne(List<Destination> destinations) {
         var cm = new CoordinateMap(destinations);
 
         // Plots the coordinate map of the IDs of the closest destination from each coordinate, or -2 if tied,
@@ -71,8 +83,7 @@ public class AOC2018Day6 extends AOCDay<Long> {
     }
 
     @Override
-    protected Long solvePartTwo(List<String> input) {
-        var destinations = parse(input);
+    protected Long solvePartTwo(List<Destination> destinations) {
         var cm = new CoordinateMap(destinations);
         return IntStream.range(0, cm.height)
                 .mapToObj(y -> IntStream.range(0, cm.length).mapToObj(x -> Pair.of(x, y)))
@@ -160,8 +171,8 @@ public class AOC2018Day6 extends AOCDay<Long> {
         }
     }
 
-    private record Destination(Pair<Integer, Integer> coordinates, int id) {
-        private Destination(Pair<Integer, Integer> coordinates, int id) {
+    record Destination(Pair<Integer, Integer> coordinates, int id) {
+        Destination(Pair<Integer, Integer> coordinates, int id) {
             this.coordinates = Pair.from(coordinates);
             this.id = id;
         }
@@ -1,26 +1,46 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
 import utils.Pair;
+import utils.Regex;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static utils.RegexUtils.*;
 
 @SuppressWarnings("DuplicatedCode")
-public class AOC2018Day7 extends AOCDay<String> {
-    private final Map<Character, Set<Character>> inward, outward;
-    private final List<Character> entry;
+public class AOC2018Day7 extends AOCDay<AOC2018Day7.Steps, String> {
+    private static final Regex EDGE = compile("Step ", group(ANY_CHARACTER),
+            " must be finished before step ", group(ANY_CHARACTER), " can begin.");
 
     public AOC2018Day7() throws IOException, URISyntaxException {
         super(7, 2018);
-        this.outward = parse(input);
-        this.inward = new HashMap<>();
+    }
+
+    @Override
+    protected List<Check> checks() {
+        var steps = """
+                Step C must be finished before step A can begin.
+                Step C must be finished before step F can begin.
+                Step A must be finished before step B can begin.
+                Step A must be finished before step D can begin.
+                Step B must be finished before step E can begin.
+                Step D must be finished before step E can begin.
+                Step F must be finished before step E can begin.
+                """;
+        // The answer to part two is for this solver's 5 workers and steps of 61 to 86 seconds, not the example's 2 and 1 to 26.
+        return List.of(example(Stage.PART_ONE, steps, "CABDFE"), example(Stage.PART_TWO, steps, 253));
+    }
+
+    @Override
+    protected Steps parse(List<String> input) {
+        var outward = parseEdges(input);
+        var inward = new HashMap<Character, Set<Character>>();
         outward.forEach((v, values) -> {
             inward.putIfAbsent(v, new TreeSet<>());
             for (Character k : values) { // values become keys due to inversion
@@ -28,22 +48,20 @@ public class AOC2018Day7 extends AOCDay<String> {
                 inward.get(k).add(v);
             }
         });
-        this.entry = inward.entrySet().stream() // vertices with an in-degree of 0.
+        var entry = inward.entrySet().stream() // vertices with an in-degree of 0.
                 .filter(e -> e.getValue().isEmpty())
                 .map(Map.Entry::getKey)
                 .toList();
+        return new Steps(inward, outward, entry);
     }
 
     // Creates a directed acyclic graph of steps (edges input -> outputs)
-    private Map<Character, Set<Character>> parse(List<String> input) {
-        var regex = join("Step ", group(ANY_CHARACTER),
-                " must be finished before step ", group(ANY_CHARACTER), " can begin.");
-        var pattern = Pattern.compile(regex);
+    private static Map<Character, Set<Character>> parseEdges(List<String> input) {
         var steps = new TreeMap<Character, Set<Character>>();
         input.stream()
-                .map(pattern::matcher)
-                .flatMap(Matcher::results)
-                .map(match -> Pair.of(match.group(1).charAt(0), match.group(2).charAt(0)))
+                .map(EDGE::find)
+                .flatMap(Optional::stream)
+                .map(match -> Pair.of(match.getChar(1), match.getChar(2)))
                 .forEach(pair -> steps.computeIfAbsent(pair.left(), k -> new TreeSet<>()).add(pair.right()));
         return steps;
     }
@@ -51,30 +69,30 @@ public class AOC2018Day7 extends AOCDay<String> {
     // Depth-first search implementation of the puzzle requirements:
     // Determine the order in which the steps should be completed.
     // If more than one step is ready, choose the step which is first alphabetically.
-    private Set<Character> buildSequential(Set<Character> built, Queue<Character> options) {
+    private static Set<Character> buildSequential(Steps steps, Set<Character> built, Queue<Character> options) {
         while (!options.isEmpty()) {
             // Build the first step that comes first in alphabetical order.
             var building = options.remove();
             built.add(building);
 
             // Add the next options available that have fulfilled all pre-requisites to be added to the next round.
-            outward.getOrDefault(building, Collections.emptySet()).stream()
-                    .filter(option -> built.containsAll(inward.get(option)))
+            steps.outward().getOrDefault(building, Collections.emptySet()).stream()
+                    .filter(option -> built.containsAll(steps.inward().get(option)))
                     .forEach(options::add);
         }
         return built;
     }
 
     @Override
-    protected String solvePartOne(List<String> input) {
-        return buildSequential(new LinkedHashSet<>(), new PriorityQueue<>(entry)).stream()
+    protected String solvePartOne(Steps steps) {
+        return buildSequential(steps, new LinkedHashSet<>(), new PriorityQueue<>(steps.entry())).stream()
                 .reduce(new StringBuilder(), StringBuilder::append, StringBuilder::append)
                 .toString();
     }
 
-    private int buildParallel(Character endpoint) {
+    private static int buildParallel(Steps steps, Character endpoint) {
         var built = new LinkedHashMap<Character, Integer>();
-        var options = new PriorityQueue<>(entry);
+        var options = new PriorityQueue<>(steps.entry());
         var pool = new WorkerPool();
 
         while (!options.isEmpty()) {
@@ -86,7 +104,7 @@ public class AOC2018Day7 extends AOCDay<String> {
             // Delegate a step that comes first in alphabetical order to an available worker.
             while (pool.availableWorkers() > 0 && !options.isEmpty()) {
                 var option = options.remove();
-                if (optionFulfilsAllPrerequisites(option, built, pool.currentSecond())) {
+                if (optionFulfilsAllPrerequisites(steps, option, built, pool.currentSecond())) {
                     successfullyQueued.add(option);
                     built.put(option, pool.delegate(option));
                 } else {
@@ -100,7 +118,7 @@ public class AOC2018Day7 extends AOCDay<String> {
 
             // Add the next options available that have fulfilled all pre-requisites to be added to the next round.
             successfullyQueued.stream()
-                    .map(justBuilt -> outward.getOrDefault(justBuilt, Collections.emptySet()))
+                    .map(justBuilt -> steps.outward().getOrDefault(justBuilt, Collections.emptySet()))
                     .flatMap(Set::stream)
                     .filter(Predicate.not(options::contains))
                     .forEach(options::add);
@@ -113,8 +131,8 @@ public class AOC2018Day7 extends AOCDay<String> {
         return pool.currentSecond();
     }
 
-    private boolean optionFulfilsAllPrerequisites(Character option, Map<Character, Integer> built, int currentSecond) {
-        var prerequisites = inward.get(option);
+    private static boolean optionFulfilsAllPrerequisites(Steps steps, Character option, Map<Character, Integer> built, int currentSecond) {
+        var prerequisites = steps.inward().get(option);
         if (!built.keySet().containsAll(prerequisites)) return false;
         for (Character prerequisite : prerequisites) {
             var completion = built.get(prerequisite);
@@ -124,13 +142,18 @@ public class AOC2018Day7 extends AOCDay<String> {
     }
 
     @Override
-    protected String solvePartTwo(List<String> input) {
-        var endpoints = inward.keySet().stream()
-                .filter(c -> outward.getOrDefault(c, Collections.emptySet()).size() == 0)
+    protected String solvePartTwo(Steps steps) {
+        var endpoints = steps.inward().keySet().stream()
+                .filter(c -> steps.outward().getOrDefault(c, Collections.emptySet()).size() == 0)
                 .toList();
         assert endpoints.size() == 1 : "More than 1 endpoint.";
         var endpoint = endpoints.get(0);
-        return String.valueOf(buildParallel(endpoint));
+        return String.valueOf(buildParallel(steps, endpoint));
+    }
+
+    // The graph of steps: the prerequisites of each step (inward), the steps each step unlocks (outward),
+    // and the steps without prerequisites (entry).
+    record Steps(Map<Character, Set<Character>> inward, Map<Character, Set<Character>> outward, List<Character> entry) {
     }
 
     private static final class WorkerPool {
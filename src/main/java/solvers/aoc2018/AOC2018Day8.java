@@ -1,6 +1,8 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -9,21 +11,29 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class AOC2018Day8 extends AOCDay<Integer> {
-    private final List<Integer> data;
-    private final TreeMap<Integer, Node> license;
-
+public class AOC2018Day8 extends AOCDay<AOC2018Day8.License, Integer> {
     public AOC2018Day8() throws IOException, URISyntaxException {
         super(8, 2018);
+    }
+
+    @Override
+    protected List<Check> checks() {
+        var license = "2 3 0 3 10 11 12 1 1 0 1 99 2 1 1 2";
+        return List.of(example(Stage.PART_ONE, license, 138), example(Stage.PART_TWO, license, 66));
+    }
+
+    @Override
+    protected License parse(List<String> input) {
         assert input.size() == 1 : "Malformed input.";
-        this.data = Arrays.stream(input.get(0).split(" "))
+        var data = Arrays.stream(input.get(0).split(" "))
                 .map(Integer::valueOf)
                 .toList();
-        this.license = new TreeMap<>();
-        findEndPoint(0);
+        var license = new TreeMap<Integer, Node>();
+        findEndPoint(data, license, 0);
+        return new License(data, license);
     }
 
-    private int findEndPoint(int startPoint) {
+    private static int findEndPoint(List<Integer> data, TreeMap<Integer, Node> license, int startPoint) {
         var nChildren = data.get(startPoint);
         assert nChildren >= 0 : "Zero or more child nodes must be specified.";
         var nMetadata = data.get(startPoint + 1);
@@ -38,26 +48,26 @@ public class AOC2018Day8 extends AOCDay<Integer> {
 
         // Recursive case: 1 or more child nodes.
         for (int i = 0; i < nChildren; i++) {
-            endPoint = findEndPoint(endPoint);
+            endPoint = findEndPoint(data, license, endPoint);
         }
         license.put(startPoint, Node.of(startPoint, startPoint + 2, endPoint, endPoint + nMetadata));
         return endPoint + nMetadata;
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
-        return license.values().stream()
-                .map(node -> data.subList(node.metadataStart(), node.endPoint()))
+    protected Integer solvePartOne(License license) {
+        return license.nodes().values().stream()
+                .map(node -> license.data().subList(node.metadataStart(), node.endPoint()))
                 .flatMap(List::stream)
                 .reduce(Integer::sum)
                 .orElseThrow(() -> new AssertionError("Missing checksum."));
     }
 
     // Returns the list of nodes that are children (excluding further descendants) of a parent node.
-    private List<Node> children(Node parent) {
+    private static List<Node> children(License license, Node parent) {
         var children = new ArrayList<Node>();
         for (int lo = parent.childStart(); lo < parent.metadataStart(); ) {
-            var child = license.ceilingEntry(lo);
+            var child = license.nodes().ceilingEntry(lo);
             if (child == null) break;
             lo = child.getValue().endPoint();
             children.add(child.getValue());
@@ -66,7 +76,7 @@ public class AOC2018Day8 extends AOCDay<Integer> {
         return children;
     }
 
-    private int calculate(Node parent, Map<Node, List<Node>> relationships, Map<Node, Integer> memoized) {
+    private static int calculate(License license, Node parent, Map<Node, List<Node>> relationships, Map<Node, Integer> memoized) {
         assert relationships.containsKey(parent) : "Parent not in relationships map.";
 
         // Base case 1: parent node value has been calculated previously and is memoized.
@@ -75,7 +85,7 @@ public class AOC2018Day8 extends AOCDay<Integer> {
         }
         // Base case 2: parent node has no child nodes -> the value is the sum of its metadata entries.
         int value;
-        var metadata = data.subList(parent.metadataStart(), parent.endPoint());
+        var metadata = license.data().subList(parent.metadataStart(), parent.endPoint());
         if (relationships.get(parent).isEmpty()) {
             value = metadata.stream()
                     .reduce(Integer::sum)
@@ -94,7 +104,7 @@ public class AOC2018Day8 extends AOCDay<Integer> {
                     .filter(i -> i < children.size());
             value = indices.map(children::get)
                     // Map the value of each child node via a recursive call.
-                    .map(child -> calculate(child, relationships, memoized))
+                    .map(child -> calculate(license, child, relationships, memoized))
                     // The value of the parent node is the sum of the values of the child nodes.
                     .reduce(Integer::sum)
                     .orElse(0);
@@ -105,14 +115,18 @@ public class AOC2018Day8 extends AOCDay<Integer> {
     }
 
     @Override
-    protected Integer solvePartTwo(List<String> input) {
-        var relationships = license.values().stream()
-                .collect(Collectors.toMap(parent -> parent, this::children, (a, b) -> a, TreeMap::new));
+    protected Integer solvePartTwo(License license) {
+        var relationships = license.nodes().values().stream()
+                .collect(Collectors.toMap(parent -> parent, parent -> children(license, parent), (a, b) -> a, TreeMap::new));
         var values = new HashMap<Node, Integer>();
-        return calculate(relationships.firstKey(), relationships, values);
+        return calculate(license, relationships.firstKey(), relationships, values);
+    }
+
+    // The numbers of the license file, and its nodes keyed by the index of their headers.
+    record License(List<Integer> data, TreeMap<Integer, Node> nodes) {
     }
 
-    private record Node(int startPoint, int childStart, int metadataStart, int endPoint) implements Comparable<Node> {
+    record Node(int startPoint, int childStart, int metadataStart, int endPoint) implements Comparable<Node> {
         private static Node of(int startPoint, int childStart, int metadataStart, int endPoint) {
             return new Node(startPoint, childStart, metadataStart, endPoint);
         }
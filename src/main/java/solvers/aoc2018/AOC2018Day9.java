@@ -1,49 +1,68 @@
 package solvers.aoc2018;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.Budget;
+import utils.Metrics;
+import utils.NumberScanner;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
-import static utils.RegexUtils.*;
-
-public class AOC2018Day9 extends AOCDay<Long> {
-    private final int players, lastMarble;
+public class AOC2018Day9 extends AOCDay<AOC2018Day9.Rules, Long> {
+    private static final Metrics.Counter MARBLES = Metrics.counter("2018 day 9 marbles placed");
 
     public AOC2018Day9() throws IOException, URISyntaxException {
         super(9, 2018);
-        assert input.size() == 1;
-        var regex = join(group(min(ANY_DIGIT, 1)),
-                " players; last marble is worth ",
-                group(min(ANY_DIGIT, 1)),
-                " points"
+    }
+
+    @Override
+    protected List<Check> checks() {
+        return List.of(
+                example(Stage.PART_ONE, "9 players; last marble is worth 25 points", 32),
+                example(Stage.PART_ONE, "10 players; last marble is worth 1618 points", 8317),
+                example(Stage.PART_ONE, "13 players; last marble is worth 7999 points", 146373),
+                example(Stage.PART_ONE, "17 players; last marble is worth 1104 points", 2764),
+                example(Stage.PART_ONE, "21 players; last marble is worth 6111 points", 54718),
+                example(Stage.PART_ONE, "30 players; last marble is worth 5807 points", 37305)
         );
-        var match = Pattern.compile(regex)
-                .matcher(input.get(0))
-                .results()
-                .findFirst()
-                .orElseThrow();
-        players = Integer.parseInt(match.group(1));
-        lastMarble = Integer.parseInt(match.group(2));
     }
 
     @Override
-    protected Long solvePartOne(List<String> input) {
-        var game = new MarbleGame(players, lastMarble);
+    protected Rules parse(List<String> input) {
+        assert input.size() == 1;
+        var numbers = new int[2];
+        if (NumberScanner.ints(input, 0, numbers) != 2) {
+            throw new AssertionError("Malformed input: %s.".formatted(input.get(0)));
+        }
+        return new Rules(numbers[0], numbers[1]);
+    }
+
+    @Override
+    protected boolean independentParts() {
+        return true;
+    }
+
+    @Override
+    protected Long solvePartOne(Rules rules) {
+        var game = new MarbleGame(rules.players(), rules.lastMarble());
         game.simulateGame();
         return game.winner();
     }
 
     @Override
-    protected Long solvePartTwo(List<String> input) {
-        var game = new MarbleGame(players, lastMarble * 100);
+    protected Long solvePartTwo(Rules rules) {
+        var game = new MarbleGame(rules.players(), rules.lastMarble() * 100);
         game.simulateGame();
         return game.winner();
     }
 
+    record Rules(int players, int lastMarble) {
+    }
+
     private static class MarbleGame {
         private final int players, lastMarble;
         private final long[] scores;
@@ -81,7 +100,18 @@ public class AOC2018Day9 extends AOCDay<Long> {
         }
 
         private void simulateGame() {
-            while (currentMarble <= lastMarble) simulateTurn();
+            var budget = Budget.current();
+            var counted = currentMarble;
+            while (currentMarble <= lastMarble) {
+                // A turn is too short to poll or count every time.
+                if ((currentMarble & 0xFFFF) == 0) {
+                    budget.checkpoint("marble", currentMarble);
+                    MARBLES.add(currentMarble - counted);
+                    counted = currentMarble;
+                }
+                simulateTurn();
+            }
+            MARBLES.add(currentMarble - counted);
         }
 
         public long winner() {
@@ -1,16 +1,43 @@
 package solvers.aoc2018.day15;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.Budget;
+import utils.Metrics;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
 
-public class AOC2018Day15 extends AOCDay<Integer> {
+public class AOC2018Day15 extends AOCDay<List<String>, Integer> {
+    private static final Metrics.Gauge ATTACK_POWER = Metrics.gauge("2018 day 15 elf attack power");
+
     public AOC2018Day15() throws IOException, URISyntaxException {
         super(15, 2018);
     }
 
+    @Override
+    protected List<Check> checks() {
+        var cavern = """
+                #######
+                #.G...#
+                #...EG#
+                #.#.#G#
+                #..G#E#
+                #.....#
+                #######
+                """;
+        return List.of(example(Stage.PART_ONE, cavern, 27730), example(Stage.PART_TWO, cavern, 4988));
+    }
+
+    // Units are mutated as they move and attack, so each simulation parses its own cavern from the map, whose lines are
+    // decoded once here rather than for every attack power.
+    @Override
+    protected List<String> parse(List<String> input) {
+        return List.copyOf(input);
+    }
+
     @Override
     protected Integer solvePartOne(List<String> input) {
         var simulation = Simulation.of(input, 3);
@@ -19,7 +46,10 @@ public class AOC2018Day15 extends AOCDay<Integer> {
 
     @Override
     protected Integer solvePartTwo(List<String> input) {
+        var budget = Budget.current();
         for (int atk = 3;; atk++) {
+            budget.checkpoint("attack power", atk);
+            ATTACK_POWER.set(atk);
             var simulation = Simulation.of(input, atk);
             var nElves = simulation.cavern().elves().size();
             var outcome = simulation.simulateToCompletion();
@@ -3,6 +3,8 @@ package solvers.aoc2018.day15;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Logger;
 import solvers.AOCDay;
+import utils.Budget;
+import utils.Metrics;
 
 import java.nio.file.LinkOption;
 import java.util.List;
@@ -11,6 +13,7 @@ import java.util.PriorityQueue;
 
 record Simulation(Cavern cavern) {
     private static final Logger LOGGER = (Logger) LogManager.getLogger(Simulation.class);
+    private static final Metrics.Counter ROUNDS = Metrics.counter("2018 day 15 rounds simulated");
 
     protected static Simulation of(List<String> input, int elfAtk) {
         return new Simulation(Cavern.parse(input, elfAtk));
@@ -33,12 +36,15 @@ record Simulation(Cavern cavern) {
 
     protected int simulateToCompletion() {
         var rounds = 0;
+        var budget = Budget.current();
         boolean roundCompleted;
         do {
+            budget.checkpoint();
             roundCompleted = simulateRound();
             if (roundCompleted) rounds++;
+            ROUNDS.increment();
         } while (!cavern.goblins().isEmpty() && !cavern.elves().isEmpty());
-        LOGGER.info("Simulation ends after {} rounds.", rounds);
+        LOGGER.debug("Simulation ends after {} rounds.", rounds);
         var remainingHP = (cavern.goblins().isEmpty() ? cavern.elves() : cavern.goblins())
                 .stream()
                 .map(Unit::hp)
@@ -184,18 +184,17 @@ abstract class Unit implements Comparable<Unit> {
     private boolean move() {
         // To move, the unit first considers the squares that are in range and
         // determines which of those squares it could reach in the fewest steps.
+        // If the unit cannot reach (find an open path to) any of the squares that are in range, it ends its turn.
         var target = target();
-        if (target.isPresent()) {
-            LOGGER.debug("{} acquired a target lock on {}.", this, target.get());
-        } else {
-            // If the unit cannot reach (find an open path to) any of the squares that are in range, it ends its turn.
-            LOGGER.debug("{} was unable to acquire a target lock on any enemy.", this);
+        if (LOGGER.isTraceEnabled()) {
+            if (target.isPresent()) LOGGER.trace("{} acquired a target lock on {}.", this, target.get());
+            else LOGGER.trace("{} was unable to acquire a target lock on any enemy.", this);
         }
 
         // The unit then takes a single step toward the chosen square along the shortest path to that square.
         var move = target.flatMap(this::pathfind);
         if (move.isPresent()) {
-            LOGGER.info("Moving 1 step toward target to {}.", move.get());
+            if (LOGGER.isDebugEnabled()) LOGGER.debug("{} moves 1 step toward its target to {}.", this, move.get());
             assert this.coordinates().manhattan(move.get()) == 1 : "Unit may only move 1 step.";
             this.x = move.get().x();
             this.y = move.get().y();
@@ -214,7 +213,7 @@ abstract class Unit implements Comparable<Unit> {
 
         // If there are no such targets, the unit ends its turn.
         if (enemies.isEmpty()) {
-            LOGGER.debug("{} has no enemies in range to attack.", this);
+            if (LOGGER.isTraceEnabled()) LOGGER.trace("{} has no enemies in range to attack.", this);
             return false;
         }
 
@@ -224,16 +223,14 @@ abstract class Unit implements Comparable<Unit> {
                 .min(Comparator.comparing(Unit::hp)
                         .thenComparing(Unit::coordinates, Coordinates.READING_ORDER_COMPARATOR))
                 .orElseThrow();
-        LOGGER.debug("{} attacks {}!", this, enemy);
-
         // The unit deals damage equal to its attack power to the selected target,
         // reducing its hit points by that amount.
         enemy.hp -= this.atk;
-        LOGGER.warn("{} deals {} damage to {}.", this, this.atk, enemy);
+        if (LOGGER.isDebugEnabled()) LOGGER.debug("{} deals {} damage to {}.", this, this.atk, enemy);
 
         // If this reduces its hit points to 0 or fewer, the selected target dies, taking no further turns.
         if (enemy.hp <= 0) {
-            LOGGER.error("{} kills {}!", this, enemy);
+            if (LOGGER.isDebugEnabled()) LOGGER.debug("{} kills {}!", this, enemy);
             this.enemies().remove(enemy);
         }
         return true;
@@ -243,7 +240,7 @@ abstract class Unit implements Comparable<Unit> {
     // resolving all of its actions before the next unit's turn begins.
     // Returns true if this unit moved and/or attacked this turn, otherwise false.
     protected boolean act() {
-        LOGGER.debug("{}'s turn...", this);
+        if (LOGGER.isTraceEnabled()) LOGGER.trace("{}'s turn...", this);
 
         // On each unit's turn, it tries to move into range of an enemy On each unit's turn,
         // it tries to move into range of an enemy (if it isn't already) and then attack (if it is in range).
@@ -1,6 +1,8 @@
 package solvers.aoc2018.day16;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -14,25 +16,32 @@ import java.util.stream.IntStream;
 
 import static java.util.function.Predicate.not;
 
-public class AOC2018Day16 extends AOCDay<Integer> {
-    private final List<Simulator> simulators;
-    private final List<Instruction> instructions;
-
+public class AOC2018Day16 extends AOCDay<AOC2018Day16.Manual, Integer> {
     public AOC2018Day16() throws IOException, URISyntaxException {
         super(16, 2018);
-        this.simulators = new ArrayList<>();
-        this.instructions = new ArrayList<>();
-        parse();
     }
 
-    private void parse() {
+    // The sample in the puzzle behaves like 3 opcodes: mulr, addi and seti.
+    @Override
+    protected List<Check> checks() {
+        return List.of(example(Stage.PART_ONE, """
+                Before: [3, 2, 1, 1]
+                9 2 1 2
+                After:  [3, 2, 2, 1]
+                """, 1));
+    }
+
+    @Override
+    protected Manual parse(List<String> input) {
+        var simulators = new ArrayList<Simulator>();
+        var instructions = new ArrayList<Instruction>();
         var split = IntStream.range(0, input.size())
                 .filter(i -> input.get(i).startsWith("A"))
                 .max()
                 .orElseThrow();
 
         // Parse the input for the first part.
-        var first = IntStream.rangeClosed(0, split + 1)
+        var first = IntStream.rangeClosed(0, split)
                 .mapToObj(input::get)
                 .filter(not(String::isBlank))
                 .toList();
@@ -49,20 +58,21 @@ public class AOC2018Day16 extends AOCDay<Integer> {
                 .filter(not(String::isBlank))
                 .map(Instruction::parse)
                 .forEach(instructions::add);
+        return new Manual(simulators, instructions);
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
-        return (int) simulators.stream()
+    protected Integer solvePartOne(Manual manual) {
+        return (int) manual.samples().stream()
                 .map(Simulator::operations)
                 .filter(ops -> ops.size() >= 3)
                 .count();
     }
 
     @Override
-    protected Integer solvePartTwo(List<String> input) {
+    protected Integer solvePartTwo(Manual manual) {
         // Map each opcode to its operation a.k.a. higher order instruction a.k.a. BiConsumer<Registers, Instruction>.
-        var unconfirmed = simulators.stream()
+        var unconfirmed = manual.samples().stream()
                 .map(Simulator::instruction)
                 .map(Instruction::opcode)
                 .distinct()
@@ -70,7 +80,7 @@ public class AOC2018Day16 extends AOCDay<Integer> {
         var confirmed = new HashMap<Integer, BiConsumer<Registers, Instruction>>();
 
         // Reduce each opcode mapping to just the operations that all simulations agree with by set intersections.
-        for (Simulator simulator : simulators) {
+        for (Simulator simulator : manual.samples()) {
             var opcode = simulator.instruction().opcode();
             var operations = simulator.operations();
             assert unconfirmed.containsKey(opcode);
@@ -95,7 +105,11 @@ public class AOC2018Day16 extends AOCDay<Integer> {
 
         // Run the program through the list of instructions.
         var registers = Registers.blank();
-        instructions.forEach(ins -> confirmed.get(ins.opcode()).accept(registers, ins));
+        manual.program().forEach(ins -> confirmed.get(ins.opcode()).accept(registers, ins));
         return registers.dereference(0);
     }
+
+    // The samples of registers before and after an instruction (the first section of the input), and the test program.
+    record Manual(List<Simulator> samples, List<Instruction> program) {
+    }
 }
@@ -1,14 +1,10 @@
 package solvers.aoc2018.day16;
 
-import java.util.Arrays;
-import java.util.regex.MatchResult;
-import java.util.regex.Pattern;
+import utils.NumberScanner;
 
-import static utils.RegexUtils.ANY_DIGIT;
-import static utils.RegexUtils.min;
+import java.util.Arrays;
 
 final class Registers {
-    private static final Pattern REGEX_NUMBERS = Pattern.compile(min(ANY_DIGIT, 1));
     private final int[] internals;
 
     private Registers() {
@@ -32,12 +28,9 @@ final class Registers {
     }
 
     protected static Registers parse(String line) {
-        var internals = REGEX_NUMBERS.matcher(line)
-                .results()
-                .map(MatchResult::group)
-                .mapToInt(Integer::parseInt)
-                .toArray();
-        assert internals.length == 4;
+        var internals = new int[4];
+        var count = NumberScanner.ints(line, internals);
+        assert count == 4 : "Malformed line: %s.".formatted(line);
         return new Registers(internals);
     }
 
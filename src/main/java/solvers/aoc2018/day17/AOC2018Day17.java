@@ -1,39 +1,41 @@
 package solvers.aoc2018.day17;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.NumberScanner;
+import utils.Output;
 
 import javax.imageio.ImageIO;
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
-import static java.util.regex.Pattern.compile;
-import static utils.RegexUtils.*;
-
-public class AOC2018Day17 extends AOCDay<Integer> {
-    private static final Pattern REGEX_LINE;
-
-    static {
-        var REGEX_AXIS = group(or("x", "y"));
-        var REGEX_NUMBER = group(min(ANY_DIGIT, 1));
-        var REGEX_RANGE = join(REGEX_NUMBER, "..", REGEX_NUMBER);
-        REGEX_LINE = compile(join(REGEX_AXIS, "=", REGEX_NUMBER, ", ", REGEX_AXIS, "=", REGEX_RANGE));
-    }
-
-    private final Waterfall initial;
-
+public class AOC2018Day17 extends AOCDay<Waterfall, Integer> {
     public AOC2018Day17() throws IOException, URISyntaxException {
         super(17, 2018);
-        this.initial = parse();
+    }
 
+    @Override
+    protected List<Check> checks() {
+        var scan = """
+                x=495, y=2..7
+                y=7, x=495..501
+                x=501, y=3..7
+                x=498, y=2..4
+                x=506, y=1..2
+                x=498, y=10..13
+                x=504, y=10..13
+                y=13, x=498..504
+                """;
+        return List.of(example(Stage.PART_ONE, scan, 57), example(Stage.PART_TWO, scan, 29));
     }
 
-    private Waterfall parse() {
+    @Override
+    protected Waterfall parse(List<String> input) {
         record Line(int x1, int y1, int x2, int y2) {
             static Line parse(char ax1, int val, char ax2, int lo, int hi) {
                 assert ax1 != ax2;
@@ -77,15 +79,16 @@ public class AOC2018Day17 extends AOCDay<Integer> {
         }
 
         // Parse each line into a human-readable data structure.
-        var lines = super.input.stream()
-                .map(REGEX_LINE::matcher)
-                .flatMap(Matcher::results)
-                .map(match -> Line.parse(match.group(1).charAt(0),
-                        Integer.parseInt(match.group(2)),
-                        match.group(3).charAt(0),
-                        Integer.parseInt(match.group(4)),
-                        Integer.parseInt(match.group(5))))
-                .toList();
+        // Each line is "x=val, y=lo..hi" or "y=val, x=lo..hi", so the axes are given by its first character.
+        var lines = new ArrayList<Line>(input.size());
+        var numbers = new int[3];
+        for (int i = 0; i < input.size(); i++) {
+            var line = input.get(i);
+            if (line.isBlank()) continue;
+            if (NumberScanner.ints(line, numbers) != 3) throw new AssertionError("Malformed input: %s.".formatted(line));
+            var axis = line.charAt(0);
+            lines.add(Line.parse(axis, numbers[0], axis == 'x' ? 'y' : 'x', numbers[1], numbers[2]));
+        }
 
         // Find the minimum and maximum x and y values.
         var xStats = lines.stream()
@@ -137,28 +140,21 @@ public class AOC2018Day17 extends AOCDay<Integer> {
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
+    protected Integer solvePartOne(Waterfall initial) {
         var waterfall = Waterfall.from(initial);
-        try {
-            var path = Path.of("src/main/resources/output/2018/day17/before.png");
-            Files.deleteIfExists(path);
-            Files.createFile(path);
-            ImageIO.write(waterfall.toImage(), "png", path.toFile());
-            waterfall.flow();
-            path = Path.of("src/main/resources/output/2018/day17/after.png");
-            Files.deleteIfExists(path);
-            Files.createFile(path);
-            ImageIO.write(waterfall.toImage(), "png", path.toFile());
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // Neither the parsed slice nor the slice after the flow is mutated again, so the output writer can read both.
+        Output.artifact(Path.of("src/main/resources/output/2018/day17/before.png"),
+                out -> ImageIO.write(initial.toImage(), "png", out));
+        traced("simulate", () -> waterfall.flow());
+        Output.artifact(Path.of("src/main/resources/output/2018/day17/after.png"),
+                out -> ImageIO.write(waterfall.toImage(), "png", out));
         return waterfall.waterlogged();
     }
 
     @Override
-    protected Integer solvePartTwo(List<String> input) {
+    protected Integer solvePartTwo(Waterfall initial) {
         var waterfall = Waterfall.from(initial);
-        waterfall.flow();
+        traced("simulate", () -> waterfall.flow());
         return waterfall.retained();
     }
 }
@@ -86,7 +86,6 @@ record Waterfall(char[][] slice, int width, int height, Set<Coordinates> sources
 
         // If the water source lands on an edge of a reservoir, create new water source blocks adjacent to it.
         if (get(source.x() - 1, base) != CLAY && get(source.x() + 1, base) != CLAY) {
-            LOGGER.warn(source.x());
             sources.add(Coordinates.at(source.x() - 1, base - 1));
             sources.add(Coordinates.at(source.x() + 1, base - 1));
             return;
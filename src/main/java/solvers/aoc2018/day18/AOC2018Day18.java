@@ -1,37 +1,68 @@
 package solvers.aoc2018.day18;
 
 import solvers.AOCDay;
+import solvers.Check;
+import solvers.Stage;
+import utils.Budget;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
-public class AOC2018Day18 extends AOCDay<Integer> {
-    private final Landscape initial;
-
+public class AOC2018Day18 extends AOCDay<Landscape, Integer> {
     public AOC2018Day18() throws IOException, URISyntaxException {
         super(18, 2018);
-        this.initial = Landscape.parse(super.input);
+    }
+
+    // Part two of the example is not given.
+    @Override
+    protected List<Check> checks() {
+        return List.of(example(Stage.PART_ONE, """
+                .#.#...|#.
+                .....#|##|
+                .|..|...#.
+                ..|#.....#
+                #.#|||#|#|
+                ...#.||...
+                .|....|...
+                ||...#|.#|
+                |.||||..|.
+                ...#.|..|.
+                """, 1147));
+    }
+
+    @Override
+    protected Landscape parse(List<String> input) {
+        return Landscape.parse(input);
+    }
+
+    @Override
+    protected boolean independentParts() {
+        return true;
     }
 
     @Override
-    protected Integer solvePartOne(List<String> input) {
+    protected Integer solvePartOne(Landscape initial) {
         return Landscape.from(initial)
                 .derive(10)
                 .value();
     }
 
     @Override
-    protected Integer solvePartTwo(List<String> input) {
+    protected Integer solvePartTwo(Landscape initial) {
         final var MULTIPLIER = 1000;
         final var GENERATIONS = 1000000000L;
 
         var stabilized = Landscape.from(initial).derive(MULTIPLIER);
         var baseline = stabilized.value();
 
-        // Find the periodicity of the landscape.
+        // Find the periodicity of the landscape, which is never found if the value never recurs.
+        var budget = Budget.current();
+        var minutes = new AtomicLong(MULTIPLIER);
         var periodicity = Stream.iterate(stabilized.derive(MULTIPLIER), ls -> ls.derive(MULTIPLIER))
+                .peek(ls -> budget.checkpoint("minute", minutes.addAndGet(MULTIPLIER)))
                 .map(Landscape::value)
                 .takeWhile(val -> val != baseline)
                 .count();
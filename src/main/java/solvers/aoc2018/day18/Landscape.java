@@ -1,10 +1,14 @@
 package solvers.aoc2018.day18;
 
+import utils.Budget;
+import utils.Metrics;
+
 import java.util.ArrayList;
 import java.util.List;
 
 record Landscape(char[][] area, int width, int height) {
     protected static final char BARREN = '.', FORESTED = '|', LUMBERYARD = '#';
+    private static final Metrics.Counter MINUTES = Metrics.counter("2018 day 18 minutes derived");
 
     protected static Landscape parse(List<String> input) {
         assert !input.isEmpty();
@@ -105,8 +109,11 @@ record Landscape(char[][] area, int width, int height) {
 
     protected Landscape derive(int minutes) {
         var derived = this;
+        var budget = Budget.current();
         for (int i = 0; i < minutes; i++) {
+            budget.checkpoint();
             derived = derived.derive();
+            MINUTES.increment();
         }
         return derived;
     }
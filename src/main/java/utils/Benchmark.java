@@ -1,16 +1,28 @@
 package utils;
 
-import java.util.concurrent.TimeUnit;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
 import java.util.function.Function;
 
-import static java.lang.Math.max;
-import static java.lang.Math.min;
-
 public class Benchmark<T, R> {
+    // Two-sided 95% critical values of Student's t-distribution for 1 to 30 degrees of freedom.
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_95 = 1.960;
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> COLLECTORS = ManagementFactory.getGarbageCollectorMXBeans();
+
     private final T input;
     private final Function<T, R> function;
-    private int runs = 0;
-    private long min = 0, max = 0, sum = 0; // durations in μs
+    private final Histogram histogram = new Histogram(); // durations in ns
+    private int warmups = 0;
+    private double mean = 0, m2 = 0; // running mean and sum of squared deviations (Welford), in ns
+    private long allocated = 0, collections = 0, paused = 0; // totals over the measured runs, in bytes and ms
 
     public Benchmark(T input, Function<T, R> function) {
         this.input = input;
@@ -21,24 +33,142 @@ public class Benchmark<T, R> {
         return new Benchmark<>(input, function);
     }
 
-    public Pair<R, Double> run() {
+    private static double critical(long degreesOfFreedom) {
+        if (degreesOfFreedom < 1) return Double.NaN;
+        return degreesOfFreedom <= T_95.length ? T_95[(int) degreesOfFreedom - 1] : Z_95;
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000;
+    }
+
+    // Returns the CPU time of the current thread in ns, or -1 if the JVM does not measure it.
+    public static long cpuTime() {
+        if (!THREADS.isCurrentThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) return -1;
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    // Returns the bytes allocated so far by the current thread, or -1 if the JVM does not track it.
+    private static long allocatedBytes() {
+        if (!THREADS.isThreadAllocatedMemorySupported() || !THREADS.isThreadAllocatedMemoryEnabled()) return -1;
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long collectionTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : COLLECTORS) {
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return time;
+    }
+
+    // Runs the function once without recording the duration, to let the JIT compiler warm up.
+    public R warmup() {
+        warmups++;
+        return function.apply(input);
+    }
+
+    // Runs the function once and records the duration, the bytes allocated by this thread, and the GC activity.
+    public R run() {
+        var gcCount = collectionCount();
+        var gcTime = collectionTime();
+        var bytes = allocatedBytes();
         var start = System.nanoTime();
         R result = function.apply(input);
         var end = System.nanoTime();
-        var duration = TimeUnit.NANOSECONDS.toMicros(end - start);
-        runs++;
-        sum += duration;
-        min = min(min, duration);
-        max = max(max, duration);
-        return Pair.of(result, (double) sum / runs / 1000);
+        allocated += allocatedBytes() - bytes;
+        collections += collectionCount() - gcCount;
+        paused += collectionTime() - gcTime;
+
+        var duration = end - start;
+        histogram.record(duration);
+        var delta = duration - mean;
+        mean += delta / histogram.count();
+        m2 += delta * (duration - mean);
+        return result;
     }
 
-    public Pair<R, Double> run(int runs) {
-        R result = run().left();
+    public Result<R> run(int runs) {
+        return run(0, runs);
+    }
+
+    public Result<R> run(int warmups, int runs) {
+        if (warmups < 0) throw new IllegalArgumentException("Warmup count (%d) is less than 0.".formatted(warmups));
+        if (runs < 1) throw new IllegalArgumentException("Run count (%d) is less than 1.".formatted(runs));
+        for (int i = 0; i < warmups; i++) {
+            warmup();
+        }
+        R result = run();
         for (int i = 1; i < runs; i++) {
-            var intermediate = run().left();
-            assert intermediate.equals(result) : "Results differ between runs: '%s' vs '%s' on run #%d".formatted(intermediate, result, this.runs);
+            var intermediate = run();
+            assert intermediate.equals(result) : "Results differ between runs: '%s' vs '%s' on run #%d".formatted(intermediate, result, histogram.count());
+        }
+        return new Result<>(result, statistics(), allocation());
+    }
+
+    public Statistics statistics() {
+        var n = histogram.count();
+        var stddev = n > 1 ? Math.sqrt(m2 / (n - 1)) : 0;
+        var ci = n > 1 ? critical(n - 1) * stddev / Math.sqrt(n) : Double.NaN;
+        return new Statistics(n, warmups,
+                millis(mean), millis(stddev), millis(ci),
+                millis(histogram.min()),
+                millis(histogram.percentile(50)),
+                millis(histogram.percentile(90)),
+                millis(histogram.percentile(99)),
+                millis(histogram.max()));
+    }
+
+    public Allocation allocation() {
+        var n = histogram.count();
+        var bytes = n == 0 || allocatedBytes() < 0 ? -1 : allocated / n;
+        return new Allocation(bytes, collections, paused);
+    }
+
+    public record Result<R>(R answer, Statistics statistics, Allocation allocation) {
+    }
+
+    /**
+     * Memory activity during the measured runs of a benchmark, excluding warmup runs.
+     * Garbage collections are counted JVM-wide, so work done concurrently on other threads is included.
+     *
+     * @param bytesPerRun the mean bytes allocated by the benchmarking thread per run, or -1 if unsupported by the JVM
+     * @param gcCount     the number of garbage collections over all runs
+     * @param gcTime      the accumulated garbage collection time over all runs, in ms
+     */
+    public record Allocation(long bytesPerRun, long gcCount, long gcTime) {
+        @Override
+        public String toString() {
+            var allocated = bytesPerRun < 0 ? "n/a" : "%.03f MB".formatted(bytesPerRun / 1_048_576.0);
+            return "allocated %s/run, %d GC%s, %d ms in GC".formatted(allocated, gcCount, gcCount == 1 ? "" : "s", gcTime);
+        }
+    }
+
+    /**
+     * Summary of the measured runs of a benchmark, excluding warmup runs. All durations are in ms.
+     *
+     * @param ci the half-width of the 95% confidence interval of the mean, or NaN if there are fewer than 2 runs
+     */
+    public record Statistics(long runs, int warmups, double mean, double stddev, double ci,
+                             double min, double p50, double p90, double p99, double max) {
+        @Override
+        public String toString() {
+            var sb = new StringBuilder("mean %.03f ms".formatted(mean));
+            if (runs > 1) {
+                sb.append(" ± %.03f ms, sd %.03f ms, p50 %.03f ms, p90 %.03f ms, p99 %.03f ms, max %.03f ms"
+                        .formatted(ci, stddev, p50, p90, p99, max));
+            }
+            sb.append(", %d run%s".formatted(runs, runs == 1 ? "" : "s"));
+            if (warmups > 0) sb.append(" after %d warmup%s".formatted(warmups, warmups == 1 ? "" : "s"));
+            return sb.toString();
         }
-        return Pair.of(result, (double) sum / runs / 1000);
     }
 }
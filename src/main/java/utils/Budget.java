@@ -0,0 +1,125 @@
+package utils;
+
+import java.io.Serial;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A time budget for a computation on the current thread, which long-running loops poll cooperatively:
+ * <pre>{@code
+ * var budget = Budget.current();
+ * for (int atk = 3;; atk++) {
+ *     budget.checkpoint("attack power", atk);
+ *     ...
+ * }
+ * }</pre>
+ * A timer marks the budget as expired once its time is up, so polling only reads a volatile flag and is cheap enough
+ * for outer loops; hot inner loops should poll every few thousand iterations instead. The first checkpoint after
+ * expiry throws {@link Exceeded}, which carries the progress last reported to a checkpoint.
+ * <p>
+ * Outside {@link #call(long, Supplier)}, each thread has a budget that never expires unless {@linkplain #cancel()
+ * cancelled}.
+ */
+public final class Budget {
+    private static final ThreadLocal<Budget> CURRENT = ThreadLocal.withInitial(() -> new Budget(0));
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "budget-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long millis, start = System.nanoTime();
+    private volatile boolean expired = false;
+    // Only written and read by the thread that owns the budget.
+    private String unit = null;
+    private long progress;
+
+    private Budget(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * Runs a task on the current thread within a budget, restoring the previous budget afterwards.
+     *
+     * @param millis the time the task may take, in ms, or 0 for no limit
+     * @throws Exceeded if the task polled a checkpoint after the budget expired
+     */
+    public static <T> T call(long millis, Supplier<T> task) {
+        if (millis < 0) throw new IllegalArgumentException("Budget (%d ms) is less than 0.".formatted(millis));
+        var budget = new Budget(millis);
+        var timer = millis == 0 ? null : TIMER.schedule(budget::cancel, millis, TimeUnit.MILLISECONDS);
+        var previous = CURRENT.get();
+        CURRENT.set(budget);
+        try {
+            return task.get();
+        } finally {
+            CURRENT.set(previous);
+            if (timer != null) timer.cancel(false);
+        }
+    }
+
+    // Returns the budget of the current thread.
+    public static Budget current() {
+        return CURRENT.get();
+    }
+
+    // Expires the budget, e.g. from another thread, so that the computation stops at its next checkpoint.
+    public void cancel() {
+        expired = true;
+    }
+
+    public boolean expired() {
+        return expired;
+    }
+
+    // Throws if the budget has expired, reporting the progress of the last checkpoint that reported any.
+    public void checkpoint() {
+        if (expired) throw new Exceeded(this);
+    }
+
+    /**
+     * Records the progress of the computation, then throws if the budget has expired.
+     *
+     * @param unit     what the progress counts, e.g. "attack power" or "marble"
+     * @param progress how far the computation has got
+     */
+    public void checkpoint(String unit, long progress) {
+        this.unit = unit;
+        this.progress = progress;
+        if (expired) throw new Exceeded(this);
+    }
+
+    /**
+     * Thrown by a checkpoint once its budget has expired. Solutions of parts that exceeded their budget have this as
+     * their answer, so its string form describes the timeout rather than the exception.
+     */
+    public static final class Exceeded extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final long elapsed;
+
+        private Exceeded(Budget budget) {
+            this(budget, System.nanoTime() - budget.start);
+        }
+
+        private Exceeded(Budget budget, long elapsed) {
+            super("%s after %d ms%s".formatted(budget.millis == 0 ? "cancelled" : "timed out",
+                    budget.millis == 0 ? elapsed / 1_000_000 : budget.millis,
+                    budget.unit == null ? "" : " at %s %d".formatted(budget.unit, budget.progress)));
+            this.elapsed = elapsed;
+        }
+
+        // Returns the time from the start of the budget to the checkpoint that threw, in ns.
+        public long elapsed() {
+            return elapsed;
+        }
+
+        @Override
+        public String toString() {
+            return getMessage();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package utils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.List;
+
+/**
+ * Measures heap occupancy, for sizing the data structures that solvers build:
+ * <pre>{@code
+ * var before = Heap.retained();
+ * var parsed = parse(input);
+ * var bytes = Heap.retained() - before;
+ * }</pre>
+ * {@link #retained()} collects garbage until the used heap settles, so it approximates the bytes reachable from live
+ * objects, while {@link #peak()} reports the most the heap held since {@link #resetPeak()}, garbage included, which
+ * depends on the collector and the heap size as much as on the solver. Both see the whole JVM, so measurements are only
+ * meaningful while nothing else allocates, e.g. with days solved one at a time.
+ */
+public final class Heap {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final List<MemoryPoolMXBean> POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+            .toList();
+    private static final int MAX_COLLECTIONS = 8;
+
+    private Heap() {
+    }
+
+    // Returns the bytes of heap in use right now, garbage included.
+    public static long used() {
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    // Collects garbage until the used heap has not shrunk for 2 collections in a row, or at most 8 times, and returns the
+    // bytes still in use. A single collection is not enough: some collectors only report, or free, what became
+    // unreachable just before it on the next collection.
+    public static long retained() {
+        var used = Long.MAX_VALUE;
+        var unchanged = 0;
+        for (int i = 0; i < MAX_COLLECTIONS && unchanged < 2; i++) {
+            System.gc();
+            var now = used();
+            unchanged = now < used ? 0 : unchanged + 1;
+            used = Math.min(used, now);
+        }
+        return used;
+    }
+
+    // Starts measuring the peak from the current usage of each heap pool.
+    public static void resetPeak() {
+        POOLS.forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    // Returns the sum of the peak usages of the heap pools since the last reset; pools can peak at different times, so
+    // this is an upper bound of the peak of the whole heap.
+    public static long peak() {
+        return POOLS.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    // Formats a number of bytes with a binary unit, e.g. 1.50 MiB.
+    public static String format(long bytes) {
+        if (Math.abs(bytes) >= 1L << 30) return "%.02f GiB".formatted(bytes / (double) (1L << 30));
+        if (Math.abs(bytes) >= 1L << 20) return "%.02f MiB".formatted(bytes / (double) (1L << 20));
+        if (Math.abs(bytes) >= 1L << 10) return "%.02f KiB".formatted(bytes / (double) (1L << 10));
+        return "%d B".formatted(bytes);
+    }
+}
@@ -0,0 +1,72 @@
+package utils;
+
+/**
+ * A fixed-size log-linear histogram of non-negative <code>long</code> values, e.g. durations in ns.
+ * <p>
+ * Each power of 2 is split into 2^{@value SUB_BUCKET_BITS} linear sub-buckets, so recording is O(1) without allocation,
+ * memory does not grow with the number of samples, and quantiles are accurate to within ~1.6% of the true value.
+ */
+public final class Histogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        var exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        var shift = exponent - SUB_BUCKET_BITS;
+        var mantissa = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    // Returns the midpoint of the range of values that fall into a bucket.
+    private static long midpoint(int index) {
+        if (index < SUB_BUCKETS) return index;
+        var shift = index / SUB_BUCKETS - 1;
+        var mantissa = index % SUB_BUCKETS;
+        var lower = (long) (SUB_BUCKETS + mantissa) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+
+    public void record(long value) {
+        if (value < 0) throw new IllegalArgumentException("Negative value (%d) cannot be recorded.".formatted(value));
+        counts[index(value)]++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the value at a percentile of the recorded values, within the precision of the buckets.
+     *
+     * @param percentile the percentile, between 0 and 100 inclusive
+     * @return the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException(String.valueOf(percentile));
+        if (count == 0) return 0;
+        var rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.max(min, Math.min(max, midpoint(i)));
+        }
+        return max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return count == 0 ? 0 : max;
+    }
+}
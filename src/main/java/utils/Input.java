@@ -0,0 +1,218 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The lines of an input file, read once into a single buffer and indexed by the byte offsets of each line.
+ * <p>
+ * Files on the default file system are memory-mapped, while files inside a jar are read into a byte array through a
+ * zip {@link FileSystem} that is shared by every input read from the same jar. Lines are only decoded when accessed:
+ * {@link #get(int)} returns a new <code>String</code> each time, and {@link #line(int)} returns a
+ * <code>CharSequence</code> view over the buffer that copies nothing, for parsers that do not need a <code>String</code>.
+ * <p>
+ * Line terminators are handled like {@link Files#readAllLines(Path)}: <code>\n</code> and <code>\r\n</code> both end a
+ * line, and a terminator at the end of the file does not start another (empty) line.
+ */
+public final class Input extends AbstractList<String> implements RandomAccess {
+    private static final int MAP_THRESHOLD = 1 << 16; // files smaller than this are cheaper to read than to map
+    private static final Map<URI, FileSystem> JARS = new ConcurrentHashMap<>();
+
+    private final ByteBuffer bytes;
+    private final int[] starts, ends;
+    private final int size;
+    private final boolean ascii;
+    private volatile String digest;
+
+    private Input(ByteBuffer bytes) {
+        this.bytes = bytes.asReadOnlyBuffer();
+        var limit = bytes.limit();
+        var starts = new int[64];
+        var ends = new int[64];
+        int n = 0, start = 0;
+        var ascii = true;
+        for (int i = 0; i < limit; i++) {
+            var b = bytes.get(i);
+            if (b < 0) ascii = false;
+            if (b != '\n' && i != limit - 1) continue;
+            if (n == starts.length) {
+                starts = Arrays.copyOf(starts, n * 2);
+                ends = Arrays.copyOf(ends, n * 2);
+            }
+            var end = b == '\n' ? i : limit;
+            if (b == '\n' && end > start && bytes.get(end - 1) == '\r') end--;
+            starts[n] = start;
+            ends[n] = end;
+            n++;
+            start = i + 1;
+        }
+        this.starts = starts;
+        this.ends = ends;
+        this.size = n;
+        this.ascii = ascii;
+    }
+
+    public static Input of(byte[] bytes) {
+        return new Input(ByteBuffer.wrap(bytes));
+    }
+
+    public static Input of(String text) {
+        return of(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Input read(Path path) throws IOException {
+        if (path.getFileSystem() != FileSystems.getDefault()) return of(Files.readAllBytes(path));
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Input %s is too large (%d bytes).".formatted(path, size));
+            }
+            if (size < MAP_THRESHOLD) return of(Files.readAllBytes(path));
+            return new Input(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    /**
+     * Reads a classpath resource, e.g. <code>/input/2018/day1.txt</code>, whether it is a file or an entry in a jar.
+     *
+     * @throws NoSuchFileException if the resource does not exist
+     */
+    public static Input resource(Class<?> anchor, String name) throws IOException, URISyntaxException {
+        return read(path(anchor, name));
+    }
+
+    /**
+     * Returns the path of a classpath resource, relative to a class as by {@link Class#getResource(String)}, whether it
+     * is a file or an entry in a jar.
+     *
+     * @throws NoSuchFileException if the resource does not exist
+     */
+    public static Path path(Class<?> anchor, String name) throws IOException, URISyntaxException {
+        var url = anchor.getResource(name);
+        if (url == null) throw new NoSuchFileException(name);
+        var uri = url.toURI();
+        if (!"jar".equals(uri.getScheme())) return Path.of(uri);
+
+        // jar:file:/path/to.jar!/entry
+        var spec = uri.getSchemeSpecificPart();
+        var separator = spec.indexOf("!/");
+        var jar = new URI("jar", spec.substring(0, separator), null);
+        var fileSystem = JARS.computeIfAbsent(jar, Input::jarFileSystem);
+        return fileSystem.getPath(spec.substring(separator + 1));
+    }
+
+    private static FileSystem jarFileSystem(URI jar) {
+        try {
+            return FileSystems.getFileSystem(jar);
+        } catch (FileSystemNotFoundException e) {
+            try {
+                return FileSystems.newFileSystem(jar, Map.of());
+            } catch (FileSystemAlreadyExistsException f) {
+                return FileSystems.getFileSystem(jar);
+            } catch (IOException f) {
+                throw new UncheckedIOException(f);
+            }
+        }
+    }
+
+    @Override
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        var line = new byte[ends[index] - starts[index]];
+        bytes.get(starts[index], line);
+        return new String(line, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a line without copying it out of the buffer, if the input is ASCII; otherwise the line is decoded as
+     * by {@link #get(int)}.
+     */
+    public CharSequence line(int index) {
+        Objects.checkIndex(index, size);
+        if (!ascii) return get(index);
+        return new Line(bytes, starts[index], ends[index] - starts[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // Returns a read-only view of the whole file, line terminators included.
+    public ByteBuffer bytes() {
+        return bytes.duplicate();
+    }
+
+    // Returns the offset of the first byte of a line in bytes().
+    public int start(int index) {
+        Objects.checkIndex(index, size);
+        return starts[index];
+    }
+
+    // Returns the offset just past the last byte of a line in bytes(), excluding its terminator.
+    public int end(int index) {
+        Objects.checkIndex(index, size);
+        return ends[index];
+    }
+
+    // Returns the SHA-256 digest of the file, in hexadecimal.
+    public String digest() {
+        var digest = this.digest;
+        if (digest != null) return digest;
+        try {
+            var sha = MessageDigest.getInstance("SHA-256");
+            sha.update(bytes());
+            digest = HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 is not supported.", e);
+        }
+        this.digest = digest;
+        return digest;
+    }
+
+    // A line of an ASCII input, read straight from the buffer.
+    private static final class Line implements CharSequence {
+        private final ByteBuffer bytes;
+        private final int offset, length;
+
+        private Line(ByteBuffer bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            Objects.checkIndex(index, length);
+            return (char) bytes.get(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new Line(bytes, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            var line = new byte[length];
+            bytes.get(offset, line);
+            return new String(line, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
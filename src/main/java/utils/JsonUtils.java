@@ -0,0 +1,43 @@
+package utils;
+
+import java.util.Locale;
+
+public final class JsonUtils {
+    /**
+     * Returns a string as a JSON string literal, escaping quotes, backslashes and control characters.
+     *
+     * @param s the string to quote
+     * @return the JSON string literal, or <code>null</code> if the string is null
+     */
+    public static String quote(String s) {
+        if (s == null) return "null";
+        var sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            var c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append("\\u%04x".formatted((int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Returns a number as a JSON number with a fixed number of decimal places, independent of the default locale.
+     *
+     * @param value    the number
+     * @param decimals the number of decimal places
+     * @return the JSON number, or <code>null</code> if the number is NaN or infinite, which JSON cannot represent
+     */
+    public static String number(double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return "null";
+        return String.format(Locale.ROOT, "%." + decimals + "f", value);
+    }
+}
@@ -0,0 +1,149 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and gauges that long-running simulations update as they go, e.g. the marbles placed or the rounds fought,
+ * so that their throughput can be watched live without logging in the hot path:
+ * <pre>{@code
+ * private static final Metrics.Counter ROUNDS = Metrics.counter("2018 day 15 rounds");
+ * ...
+ * ROUNDS.increment();
+ * }</pre>
+ * Counters are striped ({@link LongAdder}), so threads solving concurrently increment them without contending, and
+ * gauges hold the latest value set. Updates are always counted; reading them is left to the reporter started by
+ * {@link #report(long)}, e.g. with {@code --metrics} or {@code -Daoc.metrics=true}, which logs the rate of every
+ * counter that changed and the value of every gauge that changed since its previous sample. Hot loops should still
+ * add in batches rather than per iteration.
+ */
+public final class Metrics {
+    private static final Logger LOGGER = (Logger) LogManager.getLogger(Metrics.class);
+    private static final Map<String, Counter> COUNTERS = new ConcurrentSkipListMap<>();
+    private static final Map<String, Gauge> GAUGES = new ConcurrentSkipListMap<>();
+    private static final ScheduledExecutorService REPORTER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static ScheduledFuture<?> reporting = null;
+
+    static {
+        if (Boolean.getBoolean("aoc.metrics")) report(Long.getLong("aoc.metrics.interval", 1_000));
+    }
+
+    private Metrics() {
+    }
+
+    // Returns the counter of a name, registering it if this is the first use of the name.
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new Counter());
+    }
+
+    // Returns the gauge of a name, registering it if this is the first use of the name.
+    public static Gauge gauge(String name) {
+        return GAUGES.computeIfAbsent(name, key -> new Gauge());
+    }
+
+    /**
+     * Starts logging the metrics that changed on a background thread, replacing any earlier reporter.
+     *
+     * @param interval the time between samples, in ms
+     */
+    public static synchronized void report(long interval) {
+        if (interval < 1) throw new IllegalArgumentException("Interval (%d ms) is less than 1.".formatted(interval));
+        if (reporting != null) reporting.cancel(false);
+        var sampler = new Sampler();
+        reporting = REPORTER.scheduleAtFixedRate(sampler::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized boolean reporting() {
+        return reporting != null;
+    }
+
+    // Formats a count with an SI suffix, e.g. 1.23M.
+    private static String scaled(double count) {
+        if (Math.abs(count) >= 1e9) return "%.02fG".formatted(count / 1e9);
+        if (Math.abs(count) >= 1e6) return "%.02fM".formatted(count / 1e6);
+        if (Math.abs(count) >= 1e3) return "%.02fk".formatted(count / 1e3);
+        return "%.0f".formatted(count);
+    }
+
+    // A monotonic count of events, e.g. generations derived.
+    public static final class Counter {
+        private final LongAdder adder = new LongAdder();
+
+        private Counter() {
+        }
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(long delta) {
+            adder.add(delta);
+        }
+
+        public long total() {
+            return adder.sum();
+        }
+    }
+
+    // The latest value of a quantity, e.g. the square size being searched.
+    public static final class Gauge {
+        private volatile long value;
+
+        private Gauge() {
+        }
+
+        public void set(long value) {
+            this.value = value;
+        }
+
+        public long value() {
+            return value;
+        }
+    }
+
+    // Remembers the previous sample of every metric, so that only changes are logged, with counters as rates. Metrics
+    // start at 0, so ones that were registered but never updated are not logged.
+    private static final class Sampler {
+        private final Map<String, Long> counts = new HashMap<>(), values = new HashMap<>();
+        private long last = System.nanoTime();
+
+        // Starts from the current totals, so that the first rates do not include counts from before reporting began.
+        private Sampler() {
+            COUNTERS.forEach((name, counter) -> counts.put(name, counter.total()));
+            GAUGES.forEach((name, gauge) -> values.put(name, gauge.value()));
+        }
+
+        private void sample() {
+            var now = System.nanoTime();
+            var seconds = (now - last) / 1e9;
+            last = now;
+            var changes = new ArrayList<String>();
+            COUNTERS.forEach((name, counter) -> {
+                var total = counter.total();
+                var previous = counts.put(name, total);
+                var delta = total - (previous == null ? 0 : previous);
+                if (delta != 0) changes.add("%s %s/s (%s)".formatted(name, scaled(delta / seconds), scaled(total)));
+            });
+            GAUGES.forEach((name, gauge) -> {
+                var value = gauge.value();
+                var previous = values.put(name, value);
+                if (value != (previous == null ? 0 : previous)) changes.add("%s = %d".formatted(name, value));
+            });
+            if (!changes.isEmpty()) LOGGER.info("Metrics: {}", String.join(", ", changes));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Extracts the signed integers embedded in text, e.g. <code>[2, -3, 15]</code> from
+ * <code>position=< 2, -3> velocity=<15</code>, into a caller-supplied array without allocating.
+ * <p>
+ * A number is a maximal run of ASCII digits, negative if immediately preceded by <code>-</code>; everything else is a
+ * separator. Each method returns how many numbers were found, which may exceed the length of the array: only as many
+ * numbers as fit are stored, so callers can check the count against the shape of the line they expect.
+ */
+public final class NumberScanner {
+    private NumberScanner() {
+    }
+
+    public static int ints(CharSequence text, int[] into) {
+        return ints(text, 0, text.length(), into);
+    }
+
+    public static int ints(CharSequence text, int from, int to, int[] into) {
+        return scan(text, from, to, into, null);
+    }
+
+    public static int ints(ByteBuffer bytes, int from, int to, int[] into) {
+        return scan(bytes, from, to, into, null);
+    }
+
+    /**
+     * Extracts the integers of a line in a list of lines, reading it straight from the buffer of an {@link Input}
+     * rather than decoding it into a <code>String</code> first.
+     */
+    public static int ints(List<? extends CharSequence> lines, int line, int[] into) {
+        if (lines instanceof Input input) return ints(input.bytes(), input.start(line), input.end(line), into);
+        return ints(lines.get(line), into);
+    }
+
+    public static int longs(CharSequence text, long[] into) {
+        return longs(text, 0, text.length(), into);
+    }
+
+    public static int longs(CharSequence text, int from, int to, long[] into) {
+        return scan(text, from, to, null, into);
+    }
+
+    public static int longs(ByteBuffer bytes, int from, int to, long[] into) {
+        return scan(bytes, from, to, null, into);
+    }
+
+    // Like ints(List, int, int[]), but for numbers that may not fit in an int.
+    public static int longs(List<? extends CharSequence> lines, int line, long[] into) {
+        if (lines instanceof Input input) return longs(input.bytes(), input.start(line), input.end(line), into);
+        return longs(lines.get(line), into);
+    }
+
+    // Scans for numbers into exactly one of the arrays, which decides the range the numbers must fit in.
+    private static int scan(CharSequence text, int from, int to, int[] ints, long[] longs) {
+        var min = ints != null ? Integer.MIN_VALUE : Long.MIN_VALUE;
+        var max = ints != null ? Integer.MAX_VALUE : Long.MAX_VALUE;
+        int count = 0;
+        for (int i = from; i < to; ) {
+            var c = text.charAt(i);
+            if (!isDigit(c)) {
+                i++;
+                continue;
+            }
+            var negative = i > from && text.charAt(i - 1) == '-';
+            long value = 0;
+            for (; i < to && isDigit(c = text.charAt(i)); i++) {
+                value = accumulate(value, c, negative, min, max);
+            }
+            store(value, count++, ints, longs);
+        }
+        return count;
+    }
+
+    private static int scan(ByteBuffer bytes, int from, int to, int[] ints, long[] longs) {
+        var min = ints != null ? Integer.MIN_VALUE : Long.MIN_VALUE;
+        var max = ints != null ? Integer.MAX_VALUE : Long.MAX_VALUE;
+        int count = 0;
+        for (int i = from; i < to; ) {
+            var b = bytes.get(i);
+            if (!isDigit(b)) {
+                i++;
+                continue;
+            }
+            var negative = i > from && bytes.get(i - 1) == '-';
+            long value = 0;
+            for (; i < to && isDigit(b = bytes.get(i)); i++) {
+                value = accumulate(value, (char) b, negative, min, max);
+            }
+            store(value, count++, ints, longs);
+        }
+        return count;
+    }
+
+    // Stores the number at an index of whichever array is being filled, unless it is past the end of the array.
+    private static void store(long value, int index, int[] ints, long[] longs) {
+        if (ints != null) {
+            if (index < ints.length) ints[index] = (int) value;
+        } else if (index < longs.length) {
+            longs[index] = value;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // Accumulates digits towards the sign of the number, so that the minimum of the range does not overflow, checking
+    // before each step that the number stays in the range.
+    private static long accumulate(long value, char digit, boolean negative, long min, long max) {
+        var d = negative ? '0' - digit : digit - '0';
+        if (negative ? value < (min - d) / 10 : value > (max - d) / 10) {
+            throw new NumberFormatException("Number does not fit in %s: %d%c...".formatted(
+                    max == Integer.MAX_VALUE ? "an int" : "a long", value, digit));
+        }
+        return value * 10 + d;
+    }
+}
@@ -0,0 +1,143 @@
+package utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Writes answers and artifacts (e.g. rendered images) to disk on a background thread, so that solvers do not pay for
+ * filesystem latency or image encoding inside their timed runs:
+ * <pre>{@code
+ * var snapshot = Waterfall.from(waterfall);
+ * Output.artifact(path, out -> ImageIO.write(snapshot.toImage(), "png", out));
+ * }</pre>
+ * Tasks are written in the order they were submitted, through a queue of at most {@code aoc.output.queue} tasks
+ * (default 64); submitting to a full queue blocks until the writer catches up. An artifact submitted for a path that
+ * is still waiting to be written replaces the pending one, so repeated runs of a part render its artifacts only once.
+ * <p>
+ * Artifacts are skipped entirely when rendering is disabled with {@code -Daoc.render=false} or {@link #render(boolean)}.
+ * Everything submitted is written by {@link #flush()}, which also runs when the JVM shuts down.
+ */
+public final class Output {
+    private static final BlockingQueue<Runnable> QUEUE = new ArrayBlockingQueue<>(Integer.getInteger("aoc.output.queue", 64));
+    private static final Map<Path, Content> PENDING = new ConcurrentHashMap<>();
+    private static final List<IOException> FAILURES = new CopyOnWriteArrayList<>();
+    private static volatile boolean render = Boolean.parseBoolean(System.getProperty("aoc.render", "true"));
+
+    static {
+        var writer = new Thread(Output::drain, "output-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                flush();
+            } catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }, "output-flush"));
+    }
+
+    private Output() {
+    }
+
+    private static void drain() {
+        while (true) {
+            try {
+                QUEUE.take().run();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Throwable e) {
+                // Submitted tasks record their own failures; the writer must outlive anything else, or flush() hangs.
+                FAILURES.add(new IOException("Output writer failed: %s".formatted(e), e));
+            }
+        }
+    }
+
+    private static void enqueue(Runnable task) {
+        try {
+            QUEUE.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing output.", e);
+        }
+    }
+
+    // Enables or disables rendering artifacts; answers are always written.
+    public static void render(boolean enabled) {
+        render = enabled;
+    }
+
+    public static boolean rendering() {
+        return render;
+    }
+
+    /**
+     * Queues a write, e.g. of an answer file. Failures are collected and reported by {@link #flush()}.
+     *
+     * @param description what is being written, for error messages
+     */
+    public static void submit(String description, Task task) {
+        enqueue(() -> {
+            try {
+                task.run();
+            } catch (Throwable e) { // including errors, e.g. running out of memory while rendering
+                FAILURES.add(new IOException("Could not write %s: %s".formatted(description, e), e));
+            }
+        });
+    }
+
+    /**
+     * Queues an artifact to be rendered and written to a file, replacing it, unless rendering is disabled. The content
+     * is only produced on the writer thread, so it must not depend on state that the solver goes on to mutate;
+     * snapshot such state first.
+     */
+    public static void artifact(Path path, Content content) {
+        if (!render) return;
+        if (PENDING.put(path, content) != null) return; // the pending write will pick up the newer content
+        submit(path.toString(), () -> {
+            var latest = PENDING.remove(path);
+            var parent = path.getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (var out = Files.newOutputStream(path)) {
+                latest.writeTo(out);
+            }
+        });
+    }
+
+    /**
+     * Waits until everything submitted so far has been written.
+     *
+     * @throws IOException if any write failed since the last flush, with the other failures suppressed
+     */
+    public static void flush() throws IOException {
+        var done = new CountDownLatch(1);
+        enqueue(done::countDown);
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while flushing output.", e);
+        }
+        var failures = new ArrayList<>(FAILURES);
+        FAILURES.removeAll(failures);
+        if (failures.isEmpty()) return;
+        var failure = failures.get(0);
+        failures.subList(1, failures.size()).forEach(failure::addSuppressed);
+        throw failure;
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
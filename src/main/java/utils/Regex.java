@@ -0,0 +1,288 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A compiled regular expression built with the {@link RegexUtils} DSL, which is immutable and safe to share between
+ * threads, so it can be compiled once into a constant rather than for every line.
+ * <p>
+ * Expressions made only of literals, digits (<code>\d</code> with any quantifier), single characters (<code>.</code>),
+ * capturing groups of those, anchors, and a trailing <code>(.*?)$</code> or <code>(.*)</code> are matched by a
+ * specialised matcher that scans each candidate position once without backtracking, e.g.
+ * <code>#(\d+) @ (\d+),(\d+): (\d+)x(\d+)</code>. Any other expression falls back to {@link Pattern}. Either way,
+ * {@link Match} reads groups as <code>int</code>, <code>long</code> or <code>char</code> straight from the input.
+ */
+public final class Regex {
+    private final String regex;
+    private final Pattern pattern; // null if the expression is matched by the specialised matcher
+    private final Token[] tokens;
+    private final boolean anchoredStart;
+    private final int groups;
+
+    private Regex(String regex, Pattern pattern, Token[] tokens, boolean anchoredStart, int groups) {
+        this.regex = regex;
+        this.pattern = pattern;
+        this.tokens = tokens;
+        this.anchoredStart = anchoredStart;
+        this.groups = groups;
+    }
+
+    public static Regex compile(String regex) {
+        var program = new ArrayList<Token>();
+        var state = new int[]{0, 0}; // the position in the expression, and the number of groups so far
+        var anchoredStart = regex.startsWith(RegexUtils.BEGINNING_OF_LINE);
+        if (anchoredStart) state[0]++;
+        if (!tokenize(regex, state, program)) {
+            var pattern = Pattern.compile(regex);
+            return new Regex(regex, pattern, null, anchoredStart, pattern.matcher("").groupCount());
+        }
+        return new Regex(regex, null, program.toArray(Token[]::new), anchoredStart, state[1]);
+    }
+
+    // Translates the expression into tokens, returning false if it uses anything the specialised matcher does not support.
+    private static boolean tokenize(String regex, int[] state, List<Token> program) {
+        while (state[0] < regex.length()) {
+            var c = regex.charAt(state[0]);
+            if (c == '$') {
+                if (state[0] != regex.length() - 1) return false;
+                program.add(new Token(Kind.END, '\0', 0, 0, -1));
+                state[0]++;
+            } else if (c == '(') {
+                if (regex.startsWith("(.*?)", state[0]) || regex.startsWith("(.*)", state[0])) {
+                    var lazy = regex.charAt(state[0] + 3) == '?';
+                    state[0] += lazy ? 5 : 4;
+                    var rest = regex.substring(state[0]);
+                    if (!rest.isEmpty() && !rest.equals("$")) return false; // anything after it would need backtracking
+                    if (lazy && rest.isEmpty()) return false; // unanchored, a lazy group matches nothing
+                    program.add(new Token(Kind.REST, '\0', 0, 0, ++state[1]));
+                    continue;
+                }
+                var close = regex.indexOf(')', state[0]);
+                if (close < 0) return false;
+                var group = ++state[1];
+                var inner = new int[]{state[0] + 1, 0};
+                var body = new ArrayList<Token>();
+                if (!tokenize(regex.substring(0, close), inner, body) || body.size() != 1 || body.get(0).kind == Kind.LITERAL || body.get(0).kind == Kind.END) {
+                    return false;
+                }
+                var token = body.get(0);
+                program.add(new Token(token.kind, token.c, token.min, token.max, group));
+                state[0] = close + 1;
+            } else if (c == '\\' && regex.startsWith("\\d", state[0])) {
+                state[0] += 2;
+                var bounds = quantifier(regex, state);
+                if (bounds == null) return false;
+                program.add(new Token(Kind.DIGITS, '\0', bounds[0], bounds[1], -1));
+            } else if (c == '\\') {
+                if (state[0] + 1 >= regex.length() || Character.isLetterOrDigit(regex.charAt(state[0] + 1))) return false;
+                program.add(new Token(Kind.LITERAL, regex.charAt(state[0] + 1), 1, 1, -1));
+                state[0] += 2;
+            } else if (c == '.') {
+                state[0]++;
+                if (state[0] < regex.length() && "*+?{".indexOf(regex.charAt(state[0])) >= 0) return false;
+                program.add(new Token(Kind.ANY, '\0', 1, 1, -1));
+            } else if ("^|?*+)[]{}".indexOf(c) >= 0) {
+                return false;
+            } else {
+                state[0]++;
+                if (state[0] < regex.length() && "*+?{".indexOf(regex.charAt(state[0])) >= 0) return false;
+                program.add(new Token(Kind.LITERAL, c, 1, 1, -1));
+            }
+        }
+        // A run of digits must not be followed by something that can also match a digit, or greedy matching could
+        // consume what the next token needs, which only a backtracking matcher would give back.
+        for (int i = 0; i + 1 < program.size(); i++) {
+            var token = program.get(i);
+            var next = program.get(i + 1);
+            if (token.kind != Kind.DIGITS || token.min == token.max) continue;
+            if (next.kind == Kind.DIGITS || next.kind == Kind.ANY || (next.kind == Kind.LITERAL && isDigit(next.c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Reads an optional quantifier after \d, returning its minimum and maximum, or null if it is not supported.
+    private static int[] quantifier(String regex, int[] state) {
+        if (state[0] >= regex.length()) return new int[]{1, 1};
+        switch (regex.charAt(state[0])) {
+            case '+' -> {
+                state[0]++;
+                return new int[]{1, Integer.MAX_VALUE};
+            }
+            case '*' -> {
+                state[0]++;
+                return new int[]{0, Integer.MAX_VALUE};
+            }
+            case '?' -> {
+                state[0]++;
+                return new int[]{0, 1};
+            }
+            case '{' -> {
+                var close = regex.indexOf('}', state[0]);
+                if (close < 0) return null;
+                var bounds = regex.substring(state[0] + 1, close).split(",", -1);
+                state[0] = close + 1;
+                try {
+                    var min = Integer.parseInt(bounds[0]);
+                    if (bounds.length == 1) return new int[]{min, min};
+                    return new int[]{min, bounds[1].isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(bounds[1])};
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            default -> {
+                return new int[]{1, 1};
+            }
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Finds the first match in the input, like {@link Matcher#find()}.
+     *
+     * @return the match, or an empty optional if there is none
+     */
+    public Optional<Match> find(CharSequence input) {
+        if (pattern != null) {
+            var matcher = pattern.matcher(input);
+            if (!matcher.find()) return Optional.empty();
+            var bounds = new int[2 * (groups + 1)];
+            for (int g = 0; g <= groups; g++) {
+                bounds[2 * g] = matcher.start(g);
+                bounds[2 * g + 1] = matcher.end(g);
+            }
+            return Optional.of(new Match(input, bounds));
+        }
+        var bounds = new int[2 * (groups + 1)];
+        var last = anchoredStart ? 0 : input.length();
+        for (int start = 0; start <= last; start++) {
+            var end = match(input, start, bounds);
+            if (end >= 0) {
+                bounds[0] = start;
+                bounds[1] = end;
+                return Optional.of(new Match(input, bounds));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Matches the tokens at a position, recording the bounds of each group, and returns the end of the match or -1.
+    private int match(CharSequence input, int start, int[] bounds) {
+        var i = start;
+        for (Token token : tokens) {
+            var from = i;
+            switch (token.kind) {
+                case LITERAL -> {
+                    if (i >= input.length() || input.charAt(i) != token.c) return -1;
+                    i++;
+                }
+                case ANY -> {
+                    if (i >= input.length() || isLineTerminator(input.charAt(i))) return -1;
+                    i++;
+                }
+                case DIGITS -> {
+                    while (i < input.length() && i - from < token.max && isDigit(input.charAt(i))) i++;
+                    if (i - from < token.min) return -1;
+                }
+                case REST -> {
+                    while (i < input.length() && !isLineTerminator(input.charAt(i))) i++;
+                }
+                case END -> {
+                    if (!atEnd(input, i)) return -1;
+                }
+            }
+            if (token.group > 0) {
+                bounds[2 * token.group] = from;
+                bounds[2 * token.group + 1] = i;
+            }
+        }
+        return i;
+    }
+
+    // Whether a character ends a line, as for . and $ in java.util.regex.
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    // Whether a position is where $ matches in java.util.regex: at the end of the input, or before a line terminator
+    // that ends it.
+    private static boolean atEnd(CharSequence input, int i) {
+        var rest = input.length() - i;
+        if (rest == 0) return true;
+        if (rest == 2) return input.charAt(i) == '\r' && input.charAt(i + 1) == '\n';
+        return rest == 1 && isLineTerminator(input.charAt(i));
+    }
+
+    // Whether the expression is matched by the specialised matcher rather than by java.util.regex.
+    public boolean specialised() {
+        return pattern == null;
+    }
+
+    public int groupCount() {
+        return groups;
+    }
+
+    @Override
+    public String toString() {
+        return regex;
+    }
+
+    private enum Kind {LITERAL, ANY, DIGITS, REST, END}
+
+    private record Token(Kind kind, char c, int min, int max, int group) {
+    }
+
+    /**
+     * A match of a {@link Regex} in an input, whose groups are read from the input on demand.
+     * Group 0 is the whole match. Groups that did not participate in a match found by {@link Pattern} are
+     * <code>null</code>, with bounds of -1; the specialised matcher has no optional groups, so all of its groups do.
+     */
+    public static final class Match {
+        private final CharSequence input;
+        private final int[] bounds;
+
+        private Match(CharSequence input, int[] bounds) {
+            this.input = input;
+            this.bounds = bounds;
+        }
+
+        public int start(int group) {
+            return bounds[2 * group];
+        }
+
+        public int end(int group) {
+            return bounds[2 * group + 1];
+        }
+
+        public String group(int group) {
+            return start(group) < 0 ? null : input.subSequence(start(group), end(group)).toString();
+        }
+
+        public int getInt(int group) {
+            return Integer.parseInt(input, start(group), end(group), 10);
+        }
+
+        public long getLong(int group) {
+            return Long.parseLong(input, start(group), end(group), 10);
+        }
+
+        public char getChar(int group) {
+            if (end(group) - start(group) != 1) {
+                throw new IllegalStateException("Group %d is not a single character: '%s'.".formatted(group, group(group)));
+            }
+            return input.charAt(start(group));
+        }
+
+        public int groupCount() {
+            return bounds.length / 2 - 1;
+        }
+    }
+}
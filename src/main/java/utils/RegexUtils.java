@@ -15,6 +15,11 @@ public class RegexUtils {
 
     public static final String LAZY_ANYTHING = "(.*?)";
 
+    // Compiles the concatenation of the regexes into a Regex that can be kept in a constant and shared between threads.
+    public static Regex compile(String... regexes) {
+        return Regex.compile(join(regexes));
+    }
+
     public static String join(String... regexes) {
         return String.join("", regexes);
     }
@@ -0,0 +1,179 @@
+package utils;
+
+import jdk.jfr.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import static utils.JsonUtils.number;
+import static utils.JsonUtils.quote;
+
+/**
+ * Marks phases of work (e.g. "parse", "build", "simulate") as spans, each covering a task run on the current thread:
+ * <pre>{@code
+ * var claims = Tracer.trace("day 3", "parse", () -> parse(input));
+ * }</pre>
+ * Each span is emitted as an {@code aoc.Phase} JDK Flight Recorder event, visible when the JVM is started with
+ * {@code -XX:StartFlightRecording}, and is optionally buffered for export in the Chrome trace-event format
+ * (viewable in {@code chrome://tracing} or Perfetto).
+ * <p>
+ * Tracing is enabled with {@code -Daoc.trace=true}, or with {@code -Daoc.trace.chrome=<path>} to also write the
+ * Chrome trace on {@link #flush()}. When disabled, tasks are run without recording anything.
+ */
+public final class Tracer {
+    private static final Span NOOP = new Span(null, null);
+    private static final long EPOCH = System.nanoTime();
+    private static final ConcurrentLinkedQueue<Closed> CLOSED = new ConcurrentLinkedQueue<>();
+    private static volatile boolean enabled;
+    private static volatile Path chrome;
+
+    static {
+        var path = System.getProperty("aoc.trace.chrome");
+        if (path != null) enable(Path.of(path));
+        else if (Boolean.getBoolean("aoc.trace")) enable(null);
+    }
+
+    private Tracer() {
+    }
+
+    /**
+     * Enables tracing.
+     *
+     * @param chromeTrace the file to write the Chrome trace to on {@link #flush()}, or <code>null</code> to only emit JFR events
+     */
+    public static void enable(Path chromeTrace) {
+        chrome = chromeTrace;
+        enabled = true;
+    }
+
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs a task within a span, which ends when the task returns or throws.
+     *
+     * @param category the group the span belongs to, e.g. the day being solved
+     * @param name     the phase of work
+     * @return the result of the task
+     */
+    public static <T> T trace(String category, String name, Supplier<T> task) {
+        var span = span(category, name);
+        try {
+            return task.get();
+        } finally {
+            span.end();
+        }
+    }
+
+    // Runs a task that returns nothing within a span; see trace(String, String, Supplier).
+    public static void trace(String category, String name, Runnable task) {
+        var span = span(category, name);
+        try {
+            task.run();
+        } finally {
+            span.end();
+        }
+    }
+
+    // Opens a span, or returns a shared no-op span if tracing is disabled.
+    private static Span span(String category, String name) {
+        if (!enabled) return NOOP;
+        return new Span(category, name);
+    }
+
+    /**
+     * Writes the spans closed so far to the Chrome trace file, if one was configured, and clears them.
+     */
+    public static void flush() throws IOException {
+        var path = chrome;
+        if (path == null) return;
+        var spans = new ArrayList<Closed>();
+        for (Closed span; (span = CLOSED.poll()) != null; ) {
+            spans.add(span);
+        }
+        spans.sort(Comparator.comparingLong(Closed::start));
+
+        var sb = new StringBuilder("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        var threads = new LinkedHashMap<Long, String>();
+        for (int i = 0; i < spans.size(); i++) {
+            var span = spans.get(i);
+            threads.putIfAbsent(span.tid, span.thread);
+            if (i > 0) sb.append(',');
+            sb.append("\n{\"name\":").append(quote(span.name))
+                    .append(",\"cat\":").append(quote(span.category))
+                    .append(",\"ph\":\"X\",\"pid\":1,\"tid\":").append(span.tid)
+                    .append(",\"ts\":").append(number(span.start / 1000.0, 3))
+                    .append(",\"dur\":").append(number(span.duration / 1000.0, 3))
+                    .append('}');
+        }
+        for (Map.Entry<Long, String> thread : threads.entrySet()) {
+            if (sb.charAt(sb.length() - 1) != '[') sb.append(',');
+            sb.append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread.getKey())
+                    .append(",\"args\":{\"name\":").append(quote(thread.getValue())).append("}}");
+        }
+        sb.append("\n]}\n");
+        var parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Files.writeString(path, sb);
+    }
+
+    private static final class Span {
+        private final String category, name;
+        private final PhaseEvent event;
+        private final long start;
+
+        private Span(String category, String name) {
+            this.category = category;
+            this.name = name;
+            if (name == null) {
+                this.event = null;
+                this.start = 0;
+                return;
+            }
+            var event = new PhaseEvent();
+            if (event.isEnabled()) {
+                event.category = category;
+                event.name = name;
+                event.begin();
+                this.event = event;
+            } else {
+                this.event = null;
+            }
+            this.start = System.nanoTime();
+        }
+
+        private void end() {
+            if (name == null) return;
+            var end = System.nanoTime();
+            if (event != null) event.commit();
+            if (chrome != null) {
+                var thread = Thread.currentThread();
+                CLOSED.add(new Closed(category, name, thread.getId(), thread.getName(), start - EPOCH, end - start));
+            }
+        }
+    }
+
+    private record Closed(String category, String name, long tid, String thread, long start, long duration) {
+    }
+
+    @Name("aoc.Phase")
+    @Label("Phase")
+    @Category("Advent of Code")
+    @Description("A traced phase of work within a solver.")
+    @StackTrace(false)
+    private static final class PhaseEvent extends Event {
+        @Label("Category")
+        private String category;
+
+        @Label("Name")
+        private String name;
+    }
+}